@@ -5,10 +5,18 @@ import com.ironwill.core.client.AgentClient;
 import com.ironwill.core.model.*;
 import com.ironwill.core.repository.AuditLogRepository;
 import com.ironwill.core.repository.GoalRepository;
+import com.ironwill.core.service.CompiledCriteria;
+import com.ironwill.core.service.CriteriaCompiler;
 import com.ironwill.core.service.CurrentUserService;
+import com.ironwill.core.service.DailyRollupService;
+import com.ironwill.core.service.ProofHashIndex;
+import com.ironwill.core.service.ProofPrescreen;
 import com.ironwill.core.service.ScoreService;
+import com.ironwill.core.service.StreakService;
 import com.ironwill.core.service.StorageService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.MimeTypeUtils;
@@ -21,6 +29,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -36,6 +45,15 @@ public class AuditController {
     private final StorageService storageService;
     private final AgentClient agentClient;
     private final ScoreService scoreService;
+    private final CriteriaCompiler criteriaCompiler;
+    private final ProofPrescreen proofPrescreen;
+    private final ProofHashIndex proofHashIndex;
+    private final StreakService streakService;
+    private final DailyRollupService dailyRollupService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.criteria.enforce:false}")
+    private boolean enforceCriteria;
 
     private static final long MAX_BYTES = 5 * 1024 * 1024;
 
@@ -55,35 +73,59 @@ public class AuditController {
         }
 
         validateFile(file);
-
-        String proofUrl = storageService.uploadProof(user.getId(), goal.getId(), file);
-
-        AgentClient.AgentRequest req = new AgentClient.AgentRequest();
-        req.setRequest_id(UUID.randomUUID().toString());
-        req.setUser_id(user.getId().toString());
-        req.setGoal_id(goal.getId().toString());
-        Map<String, Object> goalCtx = new HashMap<>();
-        goalCtx.put("title", goal.getTitle());
-        req.setGoal_context(goalCtx);
-        req.setCriteria(Map.of(
-                "config", goal.getCriteriaConfig()
-        ));
-        req.setProof_url(proofUrl);
-        req.setTimezone(user.getTimezone());
-        req.setCurrent_time_local(OffsetDateTime.now().toString());
-
-        AgentClient.AgentResponse agentResp = agentClient.audit(req);
+        ProofPrescreen.Result prescreen = proofPrescreen.screen(file, ZoneId.of(user.getTimezone()));
+        ProofHashIndex.Check dedupe = prescreen.rejected()
+                ? ProofHashIndex.Check.NONE
+                : proofHashIndex.check(user.getId(), goal.getId(), LocalDate.now(), file);
+        String rejection = prescreen.rejected() ? prescreen.reason()
+                : dedupe.rejected() ? "Proof matches an image that was already submitted." : null;
+
+        // Local rejections skip both the upload and the agent call
+        String proofUrl = null;
+        AgentClient.AgentResponse agentResp = null;
+        if (rejection == null) {
+            proofUrl = storageService.uploadProof(user.getId(), goal.getId(), file);
+
+            AgentClient.AgentRequest req = new AgentClient.AgentRequest();
+            req.setRequest_id(UUID.randomUUID().toString());
+            req.setUser_id(user.getId().toString());
+            req.setGoal_id(goal.getId().toString());
+            Map<String, Object> goalCtx = new HashMap<>();
+            goalCtx.put("title", goal.getTitle());
+            req.setGoal_context(goalCtx);
+            req.setCriteria(Map.of(
+                    "config", goal.getCriteriaConfig()
+            ));
+            req.setProof_url(proofUrl);
+            req.setTimezone(user.getTimezone());
+            req.setCurrent_time_local(OffsetDateTime.now().toString());
+            if (dedupe.duplicate() != null) {
+                req.setUser_context_summary("Proof closely matches an image submitted for "
+                        + dedupe.duplicate().auditDate() + "; check for reuse.");
+            }
+
+            agentResp = agentClient.audit(req);
+        }
 
         AuditStatus status = AuditStatus.PENDING;
         double delta = 0.0;
         String remarks = null;
         Map<String, Object> extracted = null;
 
-        if (agentResp != null) {
+        if (rejection != null) {
+            status = AuditStatus.REJECTED;
+            delta = -0.2;
+            remarks = rejection;
+        } else if (agentResp != null) {
             status = "PASS".equalsIgnoreCase(agentResp.getVerdict()) ? AuditStatus.VERIFIED : AuditStatus.REJECTED;
             delta = agentResp.getScore_impact() != null ? agentResp.getScore_impact() : (status == AuditStatus.VERIFIED ? 0.5 : -0.2);
             remarks = agentResp.getRemarks();
             extracted = agentResp.getExtracted_metrics();
+            if (status == AuditStatus.VERIFIED && !criteriaHold(goal, extracted)) {
+                status = AuditStatus.REJECTED;
+                delta = -0.2;
+                remarks = "Reported metrics do not meet the goal criteria.";
+            }
         } else {
             // Agent failure: treat as technical difficulty, no penalty, do not change status
             status = AuditStatus.PENDING;
@@ -93,6 +135,7 @@ public class AuditController {
 
         AuditLog log = auditLogRepository.findByGoalAndAuditDate(goal, LocalDate.now())
                 .orElseGet(AuditLog::new);
+        AuditStatus previousStatus = log.getStatus();
         log.setGoal(goal);
         log.setAuditDate(LocalDate.now());
         log.setProofUrl(proofUrl);
@@ -100,7 +143,14 @@ public class AuditController {
         log.setAgentRemarks(remarks);
         log.setScoreImpact(BigDecimal.valueOf(delta));
         log.setSubmittedAt(OffsetDateTime.now());
+        log.setExtractedMetrics(extracted);
+        log.setPrimaryValue(primaryValue(extracted));
         auditLogRepository.save(log);
+        if (dedupe.hash() != null && rejection == null) {
+            proofHashIndex.record(user, goal, log.getAuditDate(), dedupe.hash());
+        }
+        streakService.onVerdict(goal, log.getAuditDate(), previousStatus, status);
+        dailyRollupService.markDirty(user.getId(), log.getAuditDate());
 
         if (status == AuditStatus.VERIFIED) {
             scoreService.applyPass(user);
@@ -116,6 +166,35 @@ public class AuditController {
         ));
     }
 
+    /**
+     * Deterministic check of the agent's extracted metrics against the compiled criteria. Only a definite FAIL
+     * counts against a PASS, and only when {@code app.criteria.enforce} is on; otherwise it is just counted.
+     */
+    private boolean criteriaHold(Goal goal, Map<String, Object> extracted) {
+        CompiledCriteria.Outcome outcome = criteriaCompiler.forGoal(goal).evaluate(extracted);
+        meterRegistry.counter("ironwill.audit.criteria_check", "outcome", outcome.name()).increment();
+        return !enforceCriteria || outcome != CompiledCriteria.Outcome.FAIL;
+    }
+
+    /**
+     * The agent's {@code primary_value} as a finite double, or null. NaN and infinities (which
+     * {@link Double#parseDouble} accepts) are dropped so they never reach trend averages.
+     */
+    static Double primaryValue(Map<String, Object> extracted) {
+        Object value = extracted == null ? null : extracted.get("primary_value");
+        Double parsed = null;
+        if (value instanceof Number n) {
+            parsed = n.doubleValue();
+        } else if (value != null) {
+            try {
+                parsed = Double.parseDouble(value.toString().trim());
+            } catch (NumberFormatException ignored) {
+                // non-numeric reading; kept only in the JSON
+            }
+        }
+        return parsed != null && Double.isFinite(parsed) ? parsed : null;
+    }
+
     private void validateFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File is required");
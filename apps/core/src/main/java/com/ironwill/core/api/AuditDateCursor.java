@@ -0,0 +1,25 @@
+package com.ironwill.core.api;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position on audit_date, passed to clients as a URL-safe string.
+ */
+record AuditDateCursor(LocalDate auditDate) {
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(auditDate.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static AuditDateCursor decode(String cursor) {
+        try {
+            return new AuditDateCursor(LocalDate.parse(new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
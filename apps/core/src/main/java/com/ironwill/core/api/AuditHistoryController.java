@@ -0,0 +1,55 @@
+package com.ironwill.core.api;
+
+import com.ironwill.core.api.dto.PageResponse;
+import com.ironwill.core.repository.AuditHistoryView;
+import com.ironwill.core.repository.AuditLogRepository;
+import com.ironwill.core.repository.GoalRepository;
+import com.ironwill.core.service.CurrentUserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/goals/{goalId}/audits")
+@RequiredArgsConstructor
+public class AuditHistoryController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final CurrentUserService currentUserService;
+    private final GoalRepository goalRepository;
+    private final AuditLogRepository auditLogRepository;
+
+    /**
+     * Past audits, newest first, keyset-paginated on audit_date.
+     */
+    @GetMapping
+    public ResponseEntity<PageResponse<AuditHistoryView>> list(
+            @PathVariable UUID goalId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "30") int limit) {
+        UUID userId = currentUserService.requireCurrentUserId();
+        if (!goalRepository.existsByIdAndUser_Id(goalId, userId)) {
+            throw new IllegalArgumentException("Goal not found");
+        }
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<AuditHistoryView> rows = cursor == null || cursor.isBlank()
+                ? auditLogRepository.findHistory(goalId, page)
+                : auditLogRepository.findHistoryBefore(goalId, AuditDateCursor.decode(cursor).auditDate(), page);
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = new AuditDateCursor(rows.get(size - 1).auditDate()).encode();
+        }
+        return ResponseEntity.ok(new PageResponse<>(rows, nextCursor));
+    }
+}
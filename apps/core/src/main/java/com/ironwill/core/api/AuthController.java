@@ -2,25 +2,37 @@ package com.ironwill.core.api;
 
 import com.ironwill.core.api.dto.AuthRequest;
 import com.ironwill.core.api.dto.AuthResponse;
+import com.ironwill.core.api.dto.RefreshRequest;
 import com.ironwill.core.api.dto.UserProfileResponse;
-import com.ironwill.core.model.GoalStatus;
-import com.ironwill.core.model.User;
+import com.ironwill.core.repository.UserProfileView;
 import com.ironwill.core.repository.UserRepository;
 import com.ironwill.core.security.JwtService;
+import com.ironwill.core.security.RefreshTokenService;
+import com.ironwill.core.security.TokenRevocationService;
+import com.ironwill.core.service.CurrentUserService;
+import com.ironwill.core.security.UserPrincipal;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/auth")
@@ -29,44 +41,96 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
     private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
 
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@RequestBody AuthRequest request) {
-        Authentication auth = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+        Authentication auth;
+        try {
+            // BCrypt runs on the bounded hashing pool (PooledPasswordEncoder); a full pool sheds the login
+            auth = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+        } catch (RejectedExecutionException e) {
+            return hashingSaturated();
+        } catch (InternalAuthenticationServiceException e) {
+            // The provider wraps failures on the unknown-user path, including a refused hash
+            if (e.getCause() instanceof RejectedExecutionException) {
+                return hashingSaturated();
+            }
+            throw e;
+        }
         SecurityContextHolder.getContext().setAuthentication(auth);
 
+        UserPrincipal principal = (UserPrincipal) auth.getPrincipal();
         Map<String, Object> claims = new HashMap<>();
-        claims.put("roles", auth.getAuthorities());
+        claims.put(JwtService.CLAIM_USER_ID, principal.getId().toString());
+        claims.put(JwtService.CLAIM_ROLES, auth.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
 
         String token = jwtService.generate(request.getEmail(), claims);
-        return ResponseEntity.ok(new AuthResponse(token));
+        String refreshToken = refreshTokenService.issue(userRepository.getReferenceById(principal.getId()));
+        return ResponseEntity.ok(new AuthResponse(token, refreshToken));
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token; the presented one is revoked.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshRequest request) {
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+            return ResponseEntity.ok(new AuthResponse(rotation.accessToken(), rotation.refreshToken()));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(401).build();
+        }
+    }
+
+    /**
+     * Revokes the caller's access token (by jti) and the refresh token family it presents.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, String>> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+            @RequestBody(required = false) RefreshRequest request) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                JwtService.VerifiedClaims claims = jwtService.extractClaims(authHeader.substring(7));
+                tokenRevocationService.revoke(claims.jti(), claims.expiration());
+            } catch (JwtException e) {
+                // Already invalid; nothing to revoke
+            }
+        }
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenService.revokeFamily(request.getRefreshToken());
+        }
+        return ResponseEntity.ok(Map.of("status", "ok"));
     }
 
     @PostMapping("/me")
     public ResponseEntity<UserProfileResponse> me() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !(auth.getPrincipal() instanceof UserDetails ud)) {
+        if (auth == null || !(auth.getPrincipal() instanceof UserDetails)) {
             return ResponseEntity.status(401).build();
         }
-        User user = userRepository.findByEmail(ud.getUsername())
+        UserProfileView view = userRepository.findProfile(currentUserService.requireCurrentUserId())
                 .orElseThrow(() -> new IllegalStateException("User not found"));
-        boolean locked = user.getGoals().stream().anyMatch(g -> g.getStatus() == GoalStatus.LOCKED);
         var profile = new UserProfileResponse(
-                user.getEmail(),
-                user.getFullName(),
-                user.getTimezone(),
-                user.getAccountabilityScore(),
-                locked,
-                user.getGoals().stream()
-                        .filter(g -> g.getLockedUntil() != null)
-                        .map(g -> g.getLockedUntil())
-                        .max(java.time.OffsetDateTime::compareTo)
-                        .orElse(null),
-                user.getRoles().stream().map(r -> r.getName().name()).toList()
+                view.email(),
+                view.fullName(),
+                view.timezone(),
+                view.accountabilityScore(),
+                view.locked(),
+                view.lockedUntil(),
+                auth.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList()
         );
         return ResponseEntity.ok(profile);
     }
-}
 
+    private static <T> ResponseEntity<T> hashingSaturated() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+}
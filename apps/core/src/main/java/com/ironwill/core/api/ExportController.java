@@ -0,0 +1,137 @@
+package com.ironwill.core.api;
+
+import com.ironwill.core.service.CurrentUserService;
+import com.ironwill.core.service.ExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full exports of audits and notifications, streamed row by row. Compressed on the fly when the client
+ * accepts gzip. Admins can export any user under {@code /api/admin}.
+ */
+@RestController
+@RequiredArgsConstructor
+public class ExportController {
+
+    private interface Export {
+        void write(UUID userId, ExportService.Format format, OutputStream out) throws IOException;
+    }
+
+    private final CurrentUserService currentUserService;
+    private final ExportService exportService;
+
+    @GetMapping("/api/export/audits")
+    public ResponseEntity<StreamingResponseBody> audits(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        return stream("audits", currentUserService.requireCurrentUserId(), format, acceptEncoding,
+                exportService::writeAudits, request);
+    }
+
+    @GetMapping("/api/export/notifications")
+    public ResponseEntity<StreamingResponseBody> notifications(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        return stream("notifications", currentUserService.requireCurrentUserId(), format, acceptEncoding,
+                exportService::writeNotifications, request);
+    }
+
+    @GetMapping("/api/admin/users/{userId}/export/audits")
+    public ResponseEntity<StreamingResponseBody> adminAudits(
+            @PathVariable UUID userId,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        return stream("audits", userId, format, acceptEncoding, exportService::writeAudits, request);
+    }
+
+    @GetMapping("/api/admin/users/{userId}/export/notifications")
+    public ResponseEntity<StreamingResponseBody> adminNotifications(
+            @PathVariable UUID userId,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        return stream("notifications", userId, format, acceptEncoding, exportService::writeNotifications, request);
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, UUID userId, String formatParam,
+                                                         String acceptEncoding, Export export,
+                                                         HttpServletRequest request) {
+        ExportService.Format format;
+        try {
+            format = ExportService.Format.valueOf(formatParam.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!exportService.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        Runnable release = releaseOnce();
+        // The body may never run (client gone before dispatch, executor rejection, timeout); completion of the
+        // async request is the one callback that always fires
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ExportController.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        release.run();
+                    }
+                });
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        StreamingResponseBody body = out -> {
+            try {
+                if (gzip) {
+                    GZIPOutputStream zipped = new GZIPOutputStream(out, 8192);
+                    export.write(userId, format, zipped);
+                    zipped.finish();
+                } else {
+                    export.write(userId, format, out);
+                }
+            } finally {
+                release.run(); // frees the slot as soon as the connection is back, ahead of completion
+            }
+        };
+        String filename = name + "-" + LocalDate.now() + "." + format.extension;
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, format.contentType + ";charset=UTF-8")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private Runnable releaseOnce() {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                exportService.release();
+            }
+        };
+    }
+}
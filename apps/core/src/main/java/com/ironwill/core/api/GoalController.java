@@ -1,17 +1,30 @@
 package com.ironwill.core.api;
 
+import com.ironwill.core.api.dto.GoalBatchItemResponse;
+import com.ironwill.core.api.dto.GoalBatchResponse;
+import com.ironwill.core.api.dto.GoalBatchUpdateRequest;
 import com.ironwill.core.api.dto.GoalRequest;
 import com.ironwill.core.api.dto.GoalResponse;
+import com.ironwill.core.api.dto.GoalSummaryResponse;
+import com.ironwill.core.api.dto.PageResponse;
 import com.ironwill.core.model.Goal;
 import com.ironwill.core.model.GoalStatus;
 import com.ironwill.core.service.ScoreService;
 import com.ironwill.core.model.User;
+import com.ironwill.core.repository.GoalRepository;
+import com.ironwill.core.repository.GoalSummaryView;
 import com.ironwill.core.service.CurrentUserService;
 import com.ironwill.core.service.GoalService;
+import com.ironwill.core.service.GoalSnapshot;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -24,29 +37,111 @@ public class GoalController {
     private final GoalService goalService;
     private final CurrentUserService currentUserService;
     private final ScoreService scoreService;
+    private final GoalRepository goalRepository;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 50;
 
     @GetMapping
     public ResponseEntity<List<GoalResponse>> list(@RequestParam(value = "status", required = false) GoalStatus status) {
-        User user = currentUserService.requireCurrentUser();
-        List<GoalResponse> goals = goalService.list(user, status).stream()
+        UUID userId = currentUserService.requireCurrentUserId();
+        List<GoalResponse> goals = goalService.list(userId, status).stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(goals);
     }
 
+    /**
+     * Keyset-paginated listing (oldest first) from a column projection; criteria are passed through as raw JSON.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<PageResponse<GoalSummaryResponse>> page(
+            @RequestParam(value = "status", required = false) GoalStatus status,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        UUID userId = currentUserService.requireCurrentUserId();
+        Collection<GoalStatus> statuses = status != null ? List.of(status) : EnumSet.allOf(GoalStatus.class);
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<GoalSummaryView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = goalRepository.findSummaries(userId, statuses, page);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = goalRepository.findSummariesAfter(userId, statuses, after.createdAt(), after.id(), page);
+        }
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            GoalSummaryView last = rows.get(size - 1);
+            nextCursor = new KeysetCursor(last.createdAt(), last.id()).encode();
+        }
+        BigDecimal lockThreshold = scoreService.getLockThreshold();
+        List<GoalSummaryResponse> items = rows.stream()
+                .map(v -> new GoalSummaryResponse(v.id(), v.title(), v.reviewTime(), v.frequencyType(), v.status(),
+                        v.criteriaConfig(), v.lockedUntil(), lockThreshold))
+                .toList();
+        return ResponseEntity.ok(new PageResponse<>(items, nextCursor));
+    }
+
     @PostMapping
     public ResponseEntity<GoalResponse> create(@RequestBody GoalRequest request) {
-        User user = currentUserService.requireCurrentUser();
+        User user = currentUserService.currentUserReference();
         Goal goal = toEntity(request);
         Goal saved = goalService.create(goal, user);
-        return ResponseEntity.ok(toResponse(saved));
+        return ResponseEntity.ok(toResponse(GoalSnapshot.of(saved)));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<GoalResponse> update(@PathVariable UUID id, @RequestBody GoalRequest request) {
-        User user = currentUserService.requireCurrentUser();
+        User user = currentUserService.currentUserReference();
         Goal updated = goalService.update(user, id, toEntity(request));
-        return ResponseEntity.ok(toResponse(updated));
+        return ResponseEntity.ok(toResponse(GoalSnapshot.of(updated)));
+    }
+
+    /**
+     * Creates up to {@value #MAX_BATCH_SIZE} goals in one transaction; invalid items are reported per index.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<GoalBatchResponse> createBatch(@RequestBody List<GoalRequest> requests) {
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        User user = currentUserService.currentUserReference();
+        List<Goal> goals = requests.stream().map(this::toEntity).toList();
+        return ResponseEntity.ok(toBatchResponse(goalService.createAll(user, goals)));
+    }
+
+    /**
+     * Full updates (same fields as {@code PUT /{id}}) for up to {@value #MAX_BATCH_SIZE} goals in one transaction.
+     */
+    @PatchMapping("/batch")
+    public ResponseEntity<GoalBatchResponse> updateBatch(@RequestBody List<GoalBatchUpdateRequest> requests) {
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        User user = currentUserService.currentUserReference();
+        List<Goal> updates = requests.stream().map(req -> {
+            Goal g = toEntity(req);
+            g.setId(req.getId());
+            return g;
+        }).toList();
+        return ResponseEntity.ok(toBatchResponse(goalService.updateAll(user, updates)));
+    }
+
+    private GoalBatchResponse toBatchResponse(List<GoalService.BatchItem> results) {
+        List<GoalBatchItemResponse> items = new ArrayList<>(results.size());
+        int succeeded = 0;
+        for (int i = 0; i < results.size(); i++) {
+            GoalService.BatchItem r = results.get(i);
+            if (r.ok()) {
+                succeeded++;
+                items.add(new GoalBatchItemResponse(i, true, null, toResponse(GoalSnapshot.of(r.goal()))));
+            } else {
+                items.add(new GoalBatchItemResponse(i, false, r.error(), null));
+            }
+        }
+        return new GoalBatchResponse(succeeded, results.size() - succeeded, items);
     }
 
     private Goal toEntity(GoalRequest req) {
@@ -59,15 +154,15 @@ public class GoalController {
         return g;
     }
 
-    private GoalResponse toResponse(Goal g) {
+    private GoalResponse toResponse(GoalSnapshot g) {
         return new GoalResponse(
-                g.getId(),
-                g.getTitle(),
-                g.getReviewTime(),
-                g.getFrequencyType(),
-                g.getStatus(),
-                g.getCriteriaConfig(),
-                g.getLockedUntil(),
+                g.id(),
+                g.title(),
+                g.reviewTime(),
+                g.frequencyType(),
+                g.status(),
+                g.criteriaConfig(),
+                g.lockedUntil(),
                 scoreService.getLockThreshold()
         );
     }
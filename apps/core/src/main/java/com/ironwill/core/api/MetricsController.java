@@ -0,0 +1,81 @@
+package com.ironwill.core.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ironwill.core.api.dto.MetricTrendResponse;
+import com.ironwill.core.repository.GoalRepository;
+import com.ironwill.core.service.CriteriaReevaluationService;
+import com.ironwill.core.service.CurrentUserService;
+import com.ironwill.core.service.MetricTrendService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/goals/{goalId}/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private static final int MAX_POINTS = 1000;
+    private static final int MAX_RANGE_DAYS = 3660;
+
+    private final CurrentUserService currentUserService;
+    private final GoalRepository goalRepository;
+    private final MetricTrendService metricTrendService;
+    private final CriteriaReevaluationService criteriaReevaluationService;
+
+    /**
+     * Trend of the agent's {@code primary_value}; defaults to the last 90 days.
+     */
+    @GetMapping("/trend")
+    public ResponseEntity<MetricTrendResponse> trend(
+            @PathVariable UUID goalId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "maxPoints", defaultValue = "200") int maxPoints) {
+        UUID userId = currentUserService.requireCurrentUserId();
+        if (!goalRepository.existsByIdAndUser_Id(goalId, userId)) {
+            throw new IllegalArgumentException("Goal not found");
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(89);
+        if (start.isAfter(end) || start.isBefore(end.minusDays(MAX_RANGE_DAYS))) {
+            return ResponseEntity.badRequest().build();
+        }
+        int points = Math.min(Math.max(maxPoints, 1), MAX_POINTS);
+        MetricTrendService.Trend trend = metricTrendService.trend(goalId, start, end, points);
+        return ResponseEntity.ok(new MetricTrendResponse(start, end, trend.bucketDays(), trend.dayOffsets(),
+                trend.values(), trend.samples()));
+    }
+
+    /**
+     * Checks stored audits' extracted metrics against {@code criteria} (the body, or the goal's current criteria
+     * when empty) without calling the agent; defaults to the last 90 days. Nothing is written.
+     */
+    @PostMapping("/criteria-check")
+    public ResponseEntity<CriteriaReevaluationService.Report> criteriaCheck(
+            @PathVariable UUID goalId,
+            @RequestBody(required = false) JsonNode criteria,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        UUID userId = currentUserService.requireCurrentUserId();
+        JsonNode current = goalRepository.findCriteriaConfig(goalId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("Goal not found"));
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(89);
+        if (start.isAfter(end) || start.isBefore(end.minusDays(MAX_RANGE_DAYS))) {
+            return ResponseEntity.badRequest().build();
+        }
+        JsonNode config = criteria == null || criteria.isNull() || criteria.isMissingNode() ? current : criteria;
+        return ResponseEntity.ok(criteriaReevaluationService.reevaluate(goalId, config, start, end));
+    }
+}
@@ -1,17 +1,31 @@
 package com.ironwill.core.api;
 
-import com.ironwill.core.model.Notification;
-import com.ironwill.core.model.User;
+import com.ironwill.core.api.dto.PageResponse;
 import com.ironwill.core.repository.NotificationRepository;
+import com.ironwill.core.repository.NotificationView;
 import com.ironwill.core.service.CurrentUserService;
+import com.ironwill.core.service.NotificationHub;
+import com.ironwill.core.service.NotificationService;
+import com.ironwill.core.service.UnreadVersionTracker;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -20,32 +34,155 @@ public class NotificationController {
 
     private final NotificationRepository notificationRepository;
     private final CurrentUserService currentUserService;
+    private final NotificationService notificationService;
+    private final NotificationHub notificationHub;
+    private final UnreadVersionTracker unreadVersionTracker;
+
+    @Value("${app.notifications.long-poll-max-ms:60000}")
+    private long longPollMaxMs;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Keyset-paginated feed, newest first. Pass the previous page's {@code nextCursor} to continue.
+     */
+    @GetMapping
+    public ResponseEntity<PageResponse<NotificationView>> feed(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @RequestParam(value = "unreadOnly", defaultValue = "false") boolean unreadOnly) {
+        UUID userId = currentUserService.requireCurrentUserId();
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        // Fetch one extra row to learn whether another page exists without a COUNT
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<NotificationView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = notificationRepository.findFeed(userId, unreadOnly, page);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = notificationRepository.findFeedAfter(userId, unreadOnly, after.createdAt(), after.id(), page);
+        }
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            NotificationView last = rows.get(size - 1);
+            nextCursor = new KeysetCursor(last.createdAt(), last.id()).encode();
+        }
+        return ResponseEntity.ok(new PageResponse<>(rows, nextCursor));
+    }
 
     @GetMapping("/unread")
-    public ResponseEntity<List<Notification>> unread() {
-        User user = currentUserService.requireCurrentUser();
-        List<Notification> unread = notificationRepository.findByUserAndReadFalse(user);
-        return ResponseEntity.ok(unread);
+    public ResponseEntity<List<NotificationView>> unread(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        UUID userId = currentUserService.requireCurrentUserId();
+        // Read the ETag before the rows: a change in between only costs the client one extra full fetch
+        String etag = notificationService.unreadEtag(userId);
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        List<NotificationView> unread = notificationRepository.findUnreadViews(userId);
+        return ResponseEntity.ok().eTag(etag).body(unread);
+    }
+
+    @GetMapping("/unread/count")
+    public ResponseEntity<Map<String, Long>> unreadCount() {
+        UUID userId = currentUserService.requireCurrentUserId();
+        return ResponseEntity.ok(Map.of("count", notificationService.unreadCount(userId)));
+    }
+
+    /**
+     * Long-poll variant of {@link #unread}: with a current {@code If-None-Match} the request is parked until
+     * the unread set changes or the timeout passes (then 304 unless it changed). A missing or stale ETag answers
+     * immediately.
+     */
+    @GetMapping("/unread/poll")
+    public DeferredResult<ResponseEntity<List<NotificationView>>> pollUnread(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestParam(value = "timeoutMs", defaultValue = "30000") long timeoutMs) {
+        UUID userId = currentUserService.requireCurrentUserId();
+        long timeout = Math.min(Math.max(timeoutMs, 0), longPollMaxMs);
+        // Version before ETag: a change in between wakes the wait at once instead of being missed
+        long version = unreadVersionTracker.current(userId);
+        String etag = notificationService.unreadEtag(userId);
+        DeferredResult<ResponseEntity<List<NotificationView>>> result = new DeferredResult<>(
+                timeout, () -> unreadSince(userId, etag));
+        if (!etag.equals(ifNoneMatch)) {
+            result.setResult(ResponseEntity.ok().eTag(etag).body(notificationRepository.findUnreadViews(userId)));
+            return result;
+        }
+
+        AtomicReference<CompletableFuture<Long>> waiting = new AtomicReference<>();
+        result.onCompletion(() -> {
+            CompletableFuture<Long> change = waiting.get();
+            if (change != null) {
+                unreadVersionTracker.cancel(userId, change);
+            }
+        });
+        awaitUnreadChange(userId, version, etag, timeout, result, waiting);
+        return result;
+    }
+
+    /**
+     * Parks until the user's unread version moves, which happens on local changes and, with listen-notify, on
+     * changes made by other instances. Nothing is queried while parked; the timeout answers from
+     * {@link #unreadSince}, which also catches changes a missed notification did not announce.
+     */
+    private void awaitUnreadChange(UUID userId, long sinceVersion, String etag, long timeoutMs,
+                                   DeferredResult<ResponseEntity<List<NotificationView>>> result,
+                                   AtomicReference<CompletableFuture<Long>> waiting) {
+        CompletableFuture<Long> change = unreadVersionTracker.awaitChange(userId, sinceVersion, timeoutMs);
+        waiting.set(change);
+        change.thenAccept(version -> {
+            if (result.isSetOrExpired()) {
+                return;
+            }
+            String current = notificationService.unreadEtag(userId);
+            if (current.equals(etag)) {
+                awaitUnreadChange(userId, version, etag, timeoutMs, result, waiting);
+                return;
+            }
+            result.setResult(ResponseEntity.ok().eTag(current).body(notificationRepository.findUnreadViews(userId)));
+        }).exceptionally(ex -> {
+            result.setErrorResult(ex);
+            return null;
+        });
+    }
+
+    private ResponseEntity<List<NotificationView>> unreadSince(UUID userId, String etag) {
+        String current = notificationService.unreadEtag(userId);
+        if (current.equals(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(current).body(notificationRepository.findUnreadViews(userId));
+    }
+
+    /**
+     * Server-sent event stream of new notifications; replaces polling {@code /unread}.
+     * Reconnecting clients send {@code Last-Event-ID} to receive what they missed.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        UUID userId = currentUserService.requireCurrentUserId();
+        return notificationHub.subscribe(userId, lastEventId);
     }
 
     @PostMapping("/{id}/read")
     public ResponseEntity<Map<String, String>> markRead(@PathVariable UUID id) {
-        User user = currentUserService.requireCurrentUser();
-        Notification n = notificationRepository.findById(id)
-                .filter(notif -> notif.getUser().getId().equals(user.getId()))
-                .orElseThrow(() -> new IllegalArgumentException("Notification not found"));
-        n.setRead(true);
-        notificationRepository.save(n);
+        UUID userId = currentUserService.requireCurrentUserId();
+        notificationService.markRead(userId, id);
         return ResponseEntity.ok(Map.of("status", "ok"));
     }
 
+    /**
+     * Marks unread notifications as read in a single UPDATE. With {@code upTo}, only those created at or
+     * before that instant, so a client can clear exactly what it has displayed.
+     */
     @PostMapping("/read-all")
-    public ResponseEntity<Map<String, String>> markAllRead() {
-        User user = currentUserService.requireCurrentUser();
-        List<Notification> unread = notificationRepository.findByUserAndReadFalse(user);
-        unread.forEach(n -> n.setRead(true));
-        notificationRepository.saveAll(unread);
-        return ResponseEntity.ok(Map.of("status", "ok"));
+    public ResponseEntity<Map<String, Object>> markAllRead(
+            @RequestParam(value = "upTo", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime upTo) {
+        UUID userId = currentUserService.requireCurrentUserId();
+        int updated = notificationService.markAllRead(userId, upTo);
+        return ResponseEntity.ok(Map.of("status", "ok", "updated", updated));
     }
 }
-
@@ -0,0 +1,104 @@
+package com.ironwill.core.api;
+
+import com.ironwill.core.api.dto.CalendarResponse;
+import com.ironwill.core.api.dto.DailyRollupResponse;
+import com.ironwill.core.model.DailyRollup;
+import com.ironwill.core.model.DailyUserRollup;
+import com.ironwill.core.repository.DailyRollupRepository;
+import com.ironwill.core.repository.DailyUserRollupRepository;
+import com.ironwill.core.service.CurrentUserService;
+import com.ironwill.core.service.DailyRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+public class RollupController {
+
+    private static final int MAX_CALENDAR_DAYS = 366;
+    private static final int MAX_RANGE_DAYS = 3660;
+
+    private final CurrentUserService currentUserService;
+    private final DailyUserRollupRepository dailyUserRollupRepository;
+    private final DailyRollupRepository dailyRollupRepository;
+    private final DailyRollupService dailyRollupService;
+
+    /**
+     * The current user's calendar heatmap; defaults to the last 365 days.
+     */
+    @GetMapping("/api/calendar")
+    public ResponseEntity<CalendarResponse> calendar(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        UUID userId = currentUserService.requireCurrentUserId();
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(364);
+        if (!validRange(start, end, MAX_CALENDAR_DAYS)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<DailyUserRollup> rows = dailyUserRollupRepository.findByUserIdAndDayBetweenOrderByDay(userId, start, end);
+        int n = rows.size();
+        int[] offsets = new int[n];
+        int[] verified = new int[n];
+        int[] rejected = new int[n];
+        int[] missed = new int[n];
+        int[] lockouts = new int[n];
+        for (int i = 0; i < n; i++) {
+            DailyUserRollup r = rows.get(i);
+            offsets[i] = (int) ChronoUnit.DAYS.between(start, r.getDay());
+            verified[i] = r.getVerified();
+            rejected[i] = r.getRejected();
+            missed[i] = r.getMissed();
+            lockouts[i] = r.getLockouts();
+        }
+        return ResponseEntity.ok(new CalendarResponse(start, end, offsets, verified, rejected, missed, lockouts));
+    }
+
+    /**
+     * Global per-day totals for admin charts; defaults to the last 90 days.
+     */
+    @GetMapping("/api/admin/analytics/daily")
+    public ResponseEntity<List<DailyRollupResponse>> daily(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(89);
+        if (!validRange(start, end, MAX_RANGE_DAYS)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(dailyRollupRepository.findByDayBetweenOrderByDay(start, end).stream()
+                .map(RollupController::toResponse)
+                .toList());
+    }
+
+    @PostMapping("/api/admin/rollups/rebuild")
+    public ResponseEntity<DailyRollupService.Report> rebuild(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!validRange(from, to, MAX_RANGE_DAYS)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(dailyRollupService.rebuild(from, to));
+    }
+
+    private static boolean validRange(LocalDate start, LocalDate end, int maxDays) {
+        return !start.isAfter(end) && ChronoUnit.DAYS.between(start, end) < maxDays;
+    }
+
+    private static DailyRollupResponse toResponse(DailyRollup r) {
+        long audited = r.getVerified() + r.getRejected() + r.getMissed();
+        Double passRate = audited == 0 ? null : (double) r.getVerified() / audited;
+        return new DailyRollupResponse(r.getDay(), r.getVerified(), r.getRejected(), r.getMissed(), passRate,
+                r.getActiveUsers(), r.getLockouts());
+    }
+}
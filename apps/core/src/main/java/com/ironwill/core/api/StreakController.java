@@ -0,0 +1,46 @@
+package com.ironwill.core.api;
+
+import com.ironwill.core.api.dto.StreakResponse;
+import com.ironwill.core.model.FrequencyType;
+import com.ironwill.core.repository.GoalRepository;
+import com.ironwill.core.service.CurrentUserService;
+import com.ironwill.core.service.StreakMaintenanceJob;
+import com.ironwill.core.service.StreakService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+public class StreakController {
+
+    private final CurrentUserService currentUserService;
+    private final GoalRepository goalRepository;
+    private final StreakService streakService;
+    private final StreakMaintenanceJob streakMaintenanceJob;
+
+    @GetMapping("/api/goals/{goalId}/streak")
+    public ResponseEntity<StreakResponse> get(@PathVariable UUID goalId) {
+        UUID userId = currentUserService.requireCurrentUserId();
+        FrequencyType frequency = goalRepository.findFrequencyType(goalId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("Goal not found"));
+        StreakService.Streak streak = streakService.get(goalId, frequency, LocalDate.now());
+        return ResponseEntity.ok(new StreakResponse(streak.current(), streak.longest(), streak.lastVerifiedDate()));
+    }
+
+    @PostMapping("/api/admin/streaks/rebuild")
+    public ResponseEntity<StreakMaintenanceJob.Report> rebuild() {
+        return ResponseEntity.ok(streakMaintenanceJob.rebuild());
+    }
+
+    @PostMapping("/api/admin/streaks/check")
+    public ResponseEntity<StreakMaintenanceJob.Report> check() {
+        return ResponseEntity.ok(streakMaintenanceJob.check());
+    }
+}
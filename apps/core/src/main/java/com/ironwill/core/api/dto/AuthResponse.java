@@ -2,12 +2,14 @@ package com.ironwill.core.api.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
 @AllArgsConstructor
 public class AuthResponse {
     private String token;
+    private String refreshToken;
 }
-
@@ -0,0 +1,23 @@
+package com.ironwill.core.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Heatmap cells for days with any activity: entry {@code i} is the day {@code from + dayOffsets[i]}.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class CalendarResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private int[] dayOffsets;
+    private int[] verified;
+    private int[] rejected;
+    private int[] missed;
+    private int[] lockouts;
+}
@@ -0,0 +1,21 @@
+package com.ironwill.core.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class DailyRollupResponse {
+    private LocalDate day;
+    private long verified;
+    private long rejected;
+    private long missed;
+    // verified / (verified + rejected + missed); null when nothing was audited
+    private Double passRate;
+    private long activeUsers;
+    private long lockouts;
+}
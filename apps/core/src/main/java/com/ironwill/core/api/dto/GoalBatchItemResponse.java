@@ -0,0 +1,15 @@
+package com.ironwill.core.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class GoalBatchItemResponse {
+    private int index; // position in the request array
+    private boolean ok;
+    private String error;
+    private GoalResponse goal; // null when the item failed
+}
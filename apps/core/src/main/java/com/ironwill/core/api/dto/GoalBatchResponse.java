@@ -0,0 +1,16 @@
+package com.ironwill.core.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class GoalBatchResponse {
+    private int succeeded;
+    private int failed;
+    private List<GoalBatchItemResponse> items;
+}
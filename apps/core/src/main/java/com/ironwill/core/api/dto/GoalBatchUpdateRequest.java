@@ -0,0 +1,12 @@
+package com.ironwill.core.api.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+public class GoalBatchUpdateRequest extends GoalRequest {
+    private UUID id;
+}
@@ -0,0 +1,28 @@
+package com.ironwill.core.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.ironwill.core.model.FrequencyType;
+import com.ironwill.core.model.GoalStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class GoalSummaryResponse {
+    private UUID id;
+    private String title;
+    private LocalTime reviewTime;
+    private FrequencyType frequencyType;
+    private GoalStatus status;
+    @JsonRawValue
+    private String criteriaConfig; // JSON text straight from the jsonb column
+    private OffsetDateTime lockedUntil;
+    private BigDecimal lockThreshold;
+}
@@ -0,0 +1,23 @@
+package com.ironwill.core.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Compact series: point {@code i} is the mean {@code values[i]} of {@code samples[i]} audits in the bucket
+ * starting {@code from + dayOffsets[i]} days.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class MetricTrendResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private int bucketDays;
+    private int[] dayOffsets;
+    private double[] values;
+    private int[] samples;
+}
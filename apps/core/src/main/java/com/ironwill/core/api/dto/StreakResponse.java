@@ -0,0 +1,16 @@
+package com.ironwill.core.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class StreakResponse {
+    private int current;
+    private int longest;
+    private LocalDate lastVerifiedDate;
+}
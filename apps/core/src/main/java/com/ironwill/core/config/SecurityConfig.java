@@ -3,6 +3,7 @@ package com.ironwill.core.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,7 +17,10 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import com.ironwill.core.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import com.ironwill.core.security.OAuth2LoginSuccessHandler;
+import com.ironwill.core.security.PasswordHashingService;
+import com.ironwill.core.security.PooledPasswordEncoder;
 import org.springframework.security.authentication.AuthenticationConfiguration;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
 import org.springframework.security.oauth2.core.user.OAuth2User;
@@ -39,8 +43,13 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
-                    .requestMatchers("/actuator/**", "/v3/api-docs/**", "/swagger-ui/**", "/health").permitAll()
+                    // async re-dispatches (SSE, long-poll) belong to requests already authorized on entry
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                    .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                    .requestMatchers("/actuator/**").hasRole("ADMIN")
+                    .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/health").permitAll()
                     .requestMatchers("/auth/**", "/oauth2/**").permitAll()
+                    .requestMatchers("/api/admin/**").hasRole("ADMIN")
                     .anyRequest().authenticated()
             )
             .httpBasic(Customizer.withDefaults())
@@ -53,8 +62,10 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int strength,
+                                           PasswordHashingService passwordHashingService) {
+        // Hashes with a lower cost are upgraded on the next successful login (UserDetailsServiceImpl.updatePassword)
+        return new PooledPasswordEncoder(new BCryptPasswordEncoder(strength), passwordHashingService);
     }
 
     @Bean
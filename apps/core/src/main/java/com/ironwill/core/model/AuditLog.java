@@ -4,10 +4,13 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.Map;
 import java.util.UUID;
 
 @Getter
@@ -15,6 +18,9 @@ import java.util.UUID;
 @Entity
 @Table(name = "audit_logs", uniqueConstraints = {
         @UniqueConstraint(name = "uq_goal_date", columnNames = {"goal_id", "audit_date"})
+}, indexes = {
+        // Postgres adds INCLUDE (status, score_impact), see db/audit_history_index.sql
+        @Index(name = "idx_audit_logs_goal_history", columnList = "goal_id,audit_date DESC")
 })
 public class AuditLog {
     @Id
@@ -41,6 +47,14 @@ public class AuditLog {
     @Column(precision = 4, scale = 2)
     private BigDecimal scoreImpact;
 
+    // Agent's extracted_metrics as returned; primary_value is copied out for range scans and trends
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private Map<String, Object> extractedMetrics;
+
+    @Column(name = "primary_value")
+    private Double primaryValue;
+
     @Column
     private OffsetDateTime submittedAt;
 
@@ -0,0 +1,40 @@
+package com.ironwill.core.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Totals across all users for one day, recomputed from {@link DailyUserRollup} rows when the day changes.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "daily_rollups")
+public class DailyRollup {
+    @Id
+    @Column(name = "rollup_date")
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private long verified;
+
+    @Column(nullable = false)
+    private long rejected;
+
+    @Column(nullable = false)
+    private long missed;
+
+    // Users with at least one audit outcome that day
+    @Column(nullable = false)
+    private long activeUsers;
+
+    @Column(nullable = false)
+    private long lockouts;
+
+    @Column(nullable = false)
+    private OffsetDateTime updatedAt;
+}
@@ -0,0 +1,62 @@
+package com.ironwill.core.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One user's audit outcomes and lockouts for one day, written only by {@code DailyRollupService}.
+ */
+@Getter
+@Setter
+@Entity
+@IdClass(DailyUserRollup.Key.class)
+@Table(name = "daily_user_rollups", indexes = {
+        @Index(name = "idx_daily_user_rollups_day", columnList = "rollup_date")
+})
+public class DailyUserRollup {
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Id
+    @Column(name = "rollup_date")
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private int verified;
+
+    @Column(nullable = false)
+    private int rejected;
+
+    @Column(nullable = false)
+    private int missed;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal scoreImpact;
+
+    @Column(nullable = false)
+    private int lockouts;
+
+    @Column(nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private UUID userId;
+        private LocalDate day;
+    }
+}
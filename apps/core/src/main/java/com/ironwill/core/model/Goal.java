@@ -14,7 +14,10 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
-@Table(name = "goals")
+@Table(name = "goals", indexes = {
+        @Index(name = "idx_goals_user_status", columnList = "user_id,status"),
+        @Index(name = "idx_goals_user_created", columnList = "user_id,created_at,id")
+})
 public class Goal {
     @Id
     @GeneratedValue
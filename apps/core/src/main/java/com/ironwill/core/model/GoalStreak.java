@@ -0,0 +1,36 @@
+package com.ironwill.core.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Running streak of VERIFIED days for one goal, maintained by {@code StreakService} as verdicts arrive.
+ * {@code currentStreak} is the length of the run ending at {@code lastVerifiedDate}; whether that run is still
+ * alive is decided at read time.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "goal_streaks")
+public class GoalStreak {
+    @Id
+    @Column(name = "goal_id")
+    private UUID goalId;
+
+    @Column(nullable = false)
+    private int currentStreak;
+
+    @Column(nullable = false)
+    private int longestStreak;
+
+    private LocalDate lastVerifiedDate;
+
+    // Set explicitly on every write; the rebuild job uses it to sweep rows it did not touch
+    @Column(nullable = false)
+    private OffsetDateTime updatedAt;
+}
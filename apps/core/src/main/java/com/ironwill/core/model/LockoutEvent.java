@@ -0,0 +1,35 @@
+package com.ironwill.core.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Recorded each time a score drop locks a user's goals; goals only keep the latest {@code locked_until}.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "lockout_events", indexes = {
+        @Index(name = "idx_lockout_events_user_day", columnList = "user_id,locked_on")
+})
+public class LockoutEvent {
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "locked_on", nullable = false)
+    private LocalDate lockedOn;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private OffsetDateTime createdAt;
+}
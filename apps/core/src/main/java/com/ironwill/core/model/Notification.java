@@ -12,7 +12,8 @@ import java.util.UUID;
 @Setter
 @Entity
 @Table(name = "notifications", indexes = {
-        @Index(name = "idx_notifications_user_unread", columnList = "user_id,is_read")
+        @Index(name = "idx_notifications_user_unread", columnList = "user_id,is_read"),
+        @Index(name = "idx_notifications_user_created", columnList = "user_id,created_at DESC,id DESC")
 })
 public class Notification {
     @Id
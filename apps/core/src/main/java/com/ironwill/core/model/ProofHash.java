@@ -0,0 +1,42 @@
+package com.ironwill.core.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "proof_hashes", indexes = {
+        @Index(name = "idx_proof_hashes_user", columnList = "user_id"),
+        @Index(name = "idx_proof_hashes_created", columnList = "created_at")
+})
+public class ProofHash {
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "goal_id", nullable = false)
+    private Goal goal;
+
+    @Column(name = "audit_date", nullable = false)
+    private LocalDate auditDate;
+
+    // 256-bit dHash of the proof image, four big-endian longs
+    @Column(nullable = false, length = 32)
+    private byte[] hash;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private OffsetDateTime createdAt;
+}
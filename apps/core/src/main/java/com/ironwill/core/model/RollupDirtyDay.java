@@ -0,0 +1,41 @@
+package com.ironwill.core.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Queue of (user, day) pairs whose rollups are stale. Written with plain inserts on the request path and drained
+ * by {@code DailyRollupService}.
+ */
+@Getter
+@Setter
+@Entity
+@IdClass(RollupDirtyDay.Key.class)
+@Table(name = "rollup_dirty_days")
+public class RollupDirtyDay {
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Id
+    @Column(name = "rollup_date")
+    private LocalDate day;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private UUID userId;
+        private LocalDate day;
+    }
+}
@@ -0,0 +1,12 @@
+package com.ironwill.core.repository;
+
+import com.ironwill.core.model.AuditStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Audit history row. Only columns held in {@code idx_audit_logs_goal_history} are selected, so Postgres can
+ * answer from the index alone and neither {@link com.ironwill.core.model.Goal} nor its user is loaded.
+ */
+public record AuditHistoryView(LocalDate auditDate, AuditStatus status, BigDecimal scoreImpact) {}
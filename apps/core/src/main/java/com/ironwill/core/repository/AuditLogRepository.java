@@ -2,13 +2,46 @@ package com.ironwill.core.repository;
 
 import com.ironwill.core.model.AuditLog;
 import com.ironwill.core.model.Goal;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
     Optional<AuditLog> findByGoalAndAuditDate(Goal goal, LocalDate auditDate);
-}
 
+    @Query("select a.goal.id from AuditLog a where a.goal.id in :goalIds and a.auditDate = :auditDate")
+    Set<UUID> findGoalIdsAuditedOn(@Param("goalIds") Collection<UUID> goalIds, @Param("auditDate") LocalDate auditDate);
+
+    @Query("select new com.ironwill.core.repository.MetricPoint(a.auditDate, a.primaryValue) from AuditLog a " +
+            "where a.goal.id = :goalId and a.auditDate between :from and :to and a.primaryValue is not null " +
+            "order by a.auditDate")
+    List<MetricPoint> findMetricPoints(@Param("goalId") UUID goalId,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to);
+
+    @Query("select new com.ironwill.core.repository.AuditMetricsView(a.auditDate, a.status, a.extractedMetrics) " +
+            "from AuditLog a where a.goal.id = :goalId and a.auditDate between :from and :to " +
+            "and a.extractedMetrics is not null order by a.auditDate")
+    List<AuditMetricsView> findExtractedMetrics(@Param("goalId") UUID goalId,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to);
+
+    // Keyset history, newest first; audit_date is unique per goal so it is the whole cursor
+    @Query("select new com.ironwill.core.repository.AuditHistoryView(a.auditDate, a.status, a.scoreImpact) " +
+            "from AuditLog a where a.goal.id = :goalId order by a.auditDate desc")
+    List<AuditHistoryView> findHistory(@Param("goalId") UUID goalId, Pageable pageable);
+
+    @Query("select new com.ironwill.core.repository.AuditHistoryView(a.auditDate, a.status, a.scoreImpact) " +
+            "from AuditLog a where a.goal.id = :goalId and a.auditDate < :before order by a.auditDate desc")
+    List<AuditHistoryView> findHistoryBefore(@Param("goalId") UUID goalId,
+                                             @Param("before") LocalDate before,
+                                             Pageable pageable);
+}
@@ -0,0 +1,11 @@
+package com.ironwill.core.repository;
+
+import com.ironwill.core.model.AuditStatus;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * One audit's stored verdict and the agent's {@code extracted_metrics}, read by projection without loading the row.
+ */
+public record AuditMetricsView(LocalDate auditDate, AuditStatus status, Map<String, Object> extractedMetrics) {}
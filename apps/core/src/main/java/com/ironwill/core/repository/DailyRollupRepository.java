@@ -0,0 +1,11 @@
+package com.ironwill.core.repository;
+
+import com.ironwill.core.model.DailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyRollupRepository extends JpaRepository<DailyRollup, LocalDate> {
+    List<DailyRollup> findByDayBetweenOrderByDay(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,12 @@
+package com.ironwill.core.repository;
+
+import com.ironwill.core.model.DailyUserRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface DailyUserRollupRepository extends JpaRepository<DailyUserRollup, DailyUserRollup.Key> {
+    List<DailyUserRollup> findByUserIdAndDayBetweenOrderByDay(UUID userId, LocalDate from, LocalDate to);
+}
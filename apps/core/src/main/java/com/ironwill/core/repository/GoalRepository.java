@@ -1,15 +1,53 @@
 package com.ironwill.core.repository;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ironwill.core.model.FrequencyType;
 import com.ironwill.core.model.Goal;
 import com.ironwill.core.model.GoalStatus;
 import com.ironwill.core.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface GoalRepository extends JpaRepository<Goal, UUID> {
     List<Goal> findByUserAndStatus(User user, GoalStatus status);
     List<Goal> findByUser(User user);
-}
+    List<Goal> findByUserInAndStatus(Collection<User> users, GoalStatus status);
+    List<Goal> findByUserIdIn(Collection<UUID> userIds);
+    boolean existsByIdAndUser_Id(UUID id, UUID userId);
+
+    @Query("select g.frequencyType from Goal g where g.id = :id and g.user.id = :userId")
+    Optional<FrequencyType> findFrequencyType(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    @Query("select g.criteriaConfig from Goal g where g.id = :id and g.user.id = :userId")
+    Optional<JsonNode> findCriteriaConfig(@Param("id") UUID id, @Param("userId") UUID userId);
 
+    // Keyset listing, oldest first; criteria_config is selected as text and never parsed
+    @Query("select new com.ironwill.core.repository.GoalSummaryView(" +
+            "g.id, g.title, g.reviewTime, g.frequencyType, g.status, cast(g.criteriaConfig as String), " +
+            "g.lockedUntil, g.createdAt) " +
+            "from Goal g where g.user.id = :userId and g.status in :statuses " +
+            "order by g.createdAt, g.id")
+    List<GoalSummaryView> findSummaries(@Param("userId") UUID userId,
+                                        @Param("statuses") Collection<GoalStatus> statuses,
+                                        Pageable pageable);
+
+    @Query("select new com.ironwill.core.repository.GoalSummaryView(" +
+            "g.id, g.title, g.reviewTime, g.frequencyType, g.status, cast(g.criteriaConfig as String), " +
+            "g.lockedUntil, g.createdAt) " +
+            "from Goal g where g.user.id = :userId and g.status in :statuses " +
+            "and (g.createdAt > :createdAt or (g.createdAt = :createdAt and g.id > :id)) " +
+            "order by g.createdAt, g.id")
+    List<GoalSummaryView> findSummariesAfter(@Param("userId") UUID userId,
+                                             @Param("statuses") Collection<GoalStatus> statuses,
+                                             @Param("createdAt") OffsetDateTime createdAt,
+                                             @Param("id") UUID id,
+                                             Pageable pageable);
+}
@@ -0,0 +1,53 @@
+package com.ironwill.core.repository;
+
+import com.ironwill.core.model.FrequencyType;
+import com.ironwill.core.model.GoalStreak;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface GoalStreakRepository extends JpaRepository<GoalStreak, UUID> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from GoalStreak s where s.goalId = :goalId")
+    Optional<GoalStreak> lockById(@Param("goalId") UUID goalId);
+
+    // Creates an empty row for lockById to take; concurrent first verdicts then queue on its lock
+    @Modifying
+    @Query(value = "insert into goal_streaks (goal_id, current_streak, longest_streak, updated_at) " +
+            "values (:goalId, 0, 0, :now) on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("goalId") UUID goalId, @Param("now") OffsetDateTime now);
+
+    // Zeroes runs whose last verified day is before the goal's previous expected day
+    @Modifying
+    @Query("update GoalStreak s set s.currentStreak = 0, s.updatedAt = :now " +
+            "where s.currentStreak > 0 and s.lastVerifiedDate < :cutoff " +
+            "and s.goalId in (select g.id from Goal g where g.frequencyType = :frequency)")
+    int settleMissed(@Param("frequency") FrequencyType frequency,
+                     @Param("cutoff") LocalDate cutoff,
+                     @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("delete from GoalStreak s where s.updatedAt < :before")
+    int deleteUpdatedBefore(@Param("before") OffsetDateTime before);
+
+    // Rows whose goal has no VERIFIED audit left, e.g. after its only PASS was overturned
+    @Query("select count(s) from GoalStreak s where s.updatedAt < :before and not exists " +
+            "(select a.id from AuditLog a where a.goal.id = s.goalId " +
+            "and a.status = com.ironwill.core.model.AuditStatus.VERIFIED)")
+    long countWithoutHistory(@Param("before") OffsetDateTime before);
+
+    @Modifying
+    @Query("delete from GoalStreak s where s.updatedAt < :before and not exists " +
+            "(select a.id from AuditLog a where a.goal.id = s.goalId " +
+            "and a.status = com.ironwill.core.model.AuditStatus.VERIFIED)")
+    int deleteWithoutHistory(@Param("before") OffsetDateTime before);
+}
@@ -0,0 +1,21 @@
+package com.ironwill.core.repository;
+
+import com.ironwill.core.model.FrequencyType;
+import com.ironwill.core.model.GoalStatus;
+
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Goal columns for listings. {@code criteriaConfig} is the JSONB column as text and is written to
+ * responses verbatim, never parsed.
+ */
+public record GoalSummaryView(UUID id,
+                              String title,
+                              LocalTime reviewTime,
+                              FrequencyType frequencyType,
+                              GoalStatus status,
+                              String criteriaConfig,
+                              OffsetDateTime lockedUntil,
+                              OffsetDateTime createdAt) {}
@@ -0,0 +1,9 @@
+package com.ironwill.core.repository;
+
+import com.ironwill.core.model.LockoutEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface LockoutEventRepository extends JpaRepository<LockoutEvent, UUID> {
+}
@@ -0,0 +1,8 @@
+package com.ironwill.core.repository;
+
+import java.time.LocalDate;
+
+/**
+ * One day's primary metric for a goal, read from {@code audit_logs.primary_value} without loading the row.
+ */
+public record MetricPoint(LocalDate auditDate, Double value) {}
@@ -2,12 +2,60 @@ package com.ironwill.core.repository;
 
 import com.ironwill.core.model.Notification;
 import com.ironwill.core.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
     List<Notification> findByUserAndReadFalse(User user);
-}
 
+    long countByUserIdAndReadFalse(UUID userId);
+
+    // One aggregate over idx_notifications_user_unread; backs the unread ETag
+    @Query("select new com.ironwill.core.repository.UnreadState(count(n), max(n.createdAt)) " +
+            "from Notification n where n.user.id = :userId and n.read = false")
+    UnreadState findUnreadState(@Param("userId") UUID userId);
+
+    @Query("select new com.ironwill.core.repository.NotificationView(n.id, n.message, n.read, n.createdAt) " +
+            "from Notification n where n.user.id = :userId and n.read = false " +
+            "order by n.createdAt desc, n.id desc")
+    List<NotificationView> findUnreadViews(@Param("userId") UUID userId);
+
+    // Keyset feed, newest first; served by idx_notifications_user_created
+    @Query("select new com.ironwill.core.repository.NotificationView(n.id, n.message, n.read, n.createdAt) " +
+            "from Notification n where n.user.id = :userId and (:unreadOnly = false or n.read = false) " +
+            "order by n.createdAt desc, n.id desc")
+    List<NotificationView> findFeed(@Param("userId") UUID userId,
+                                    @Param("unreadOnly") boolean unreadOnly,
+                                    Pageable pageable);
+
+    @Query("select new com.ironwill.core.repository.NotificationView(n.id, n.message, n.read, n.createdAt) " +
+            "from Notification n where n.user.id = :userId and (:unreadOnly = false or n.read = false) " +
+            "and (n.createdAt < :createdAt or (n.createdAt = :createdAt and n.id < :id)) " +
+            "order by n.createdAt desc, n.id desc")
+    List<NotificationView> findFeedAfter(@Param("userId") UUID userId,
+                                         @Param("unreadOnly") boolean unreadOnly,
+                                         @Param("createdAt") OffsetDateTime createdAt,
+                                         @Param("id") UUID id,
+                                         Pageable pageable);
+
+    // Set-based read flags: one UPDATE each, no entities loaded
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.read = true where n.id = :id and n.user.id = :userId")
+    int markRead(@Param("userId") UUID userId, @Param("id") UUID id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.read = true where n.user.id = :userId and n.read = false")
+    int markAllRead(@Param("userId") UUID userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.read = true " +
+            "where n.user.id = :userId and n.read = false and n.createdAt <= :upTo")
+    int markReadUpTo(@Param("userId") UUID userId, @Param("upTo") OffsetDateTime upTo);
+}
@@ -0,0 +1,10 @@
+package com.ironwill.core.repository;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a notification; selected column by column so the owning {@link com.ironwill.core.model.User}
+ * is never loaded or serialized.
+ */
+public record NotificationView(UUID id, String message, boolean read, OffsetDateTime createdAt) {}
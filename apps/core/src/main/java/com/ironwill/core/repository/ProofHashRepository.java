@@ -0,0 +1,12 @@
+package com.ironwill.core.repository;
+
+import com.ironwill.core.model.ProofHash;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface ProofHashRepository extends JpaRepository<ProofHash, UUID> {
+    List<ProofHash> findByCreatedAtAfter(OffsetDateTime since);
+}
@@ -0,0 +1,18 @@
+package com.ironwill.core.repository;
+
+import com.ironwill.core.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    List<RevokedToken> findByExpiresAtAfter(OffsetDateTime now);
+    List<RevokedToken> findByRevokedAtAfter(OffsetDateTime since);
+
+    @Modifying
+    @Transactional
+    long deleteByExpiresAtBefore(OffsetDateTime now);
+}
@@ -0,0 +1,9 @@
+package com.ironwill.core.repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Size of a user's unread set and its newest {@code created_at}. Any insert or mark-read changes at least one
+ * of them, so together they identify the unread list across instances.
+ */
+public record UnreadState(Long count, OffsetDateTime newest) {}
@@ -0,0 +1,19 @@
+package com.ironwill.core.repository;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * User row plus goal-lock aggregates, produced by a single query for {@code /auth/me}.
+ */
+public record UserProfileView(String email,
+                              String fullName,
+                              String timezone,
+                              BigDecimal accountabilityScore,
+                              Long lockedGoals,
+                              OffsetDateTime lockedUntil) {
+
+    public boolean locked() {
+        return lockedGoals != null && lockedGoals > 0;
+    }
+}
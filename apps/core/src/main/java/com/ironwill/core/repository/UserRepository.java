@@ -1,12 +1,27 @@
 package com.ironwill.core.repository;
 
 import com.ironwill.core.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
-}
 
+    // Aggregates are computed in the database so /auth/me never loads the user's goals
+    @Query("select new com.ironwill.core.repository.UserProfileView(" +
+            "u.email, u.fullName, u.timezone, u.accountabilityScore, " +
+            "(select count(g) from Goal g where g.user = u and g.status = com.ironwill.core.model.GoalStatus.LOCKED), " +
+            "(select max(g2.lockedUntil) from Goal g2 where g2.user = u)) " +
+            "from User u where u.id = :userId")
+    Optional<UserProfileView> findProfile(@Param("userId") UUID userId);
+
+    // Keyset pagination for batch jobs: first page, then everything after the last seen id
+    List<User> findByOrderByIdAsc(Pageable pageable);
+    List<User> findByIdGreaterThanOrderByIdAsc(UUID lastId, Pageable pageable);
+}
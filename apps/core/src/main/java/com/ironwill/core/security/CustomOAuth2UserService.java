@@ -3,8 +3,8 @@ package com.ironwill.core.security;
 import com.ironwill.core.model.Role;
 import com.ironwill.core.model.RoleType;
 import com.ironwill.core.model.User;
-import com.ironwill.core.repository.RoleRepository;
 import com.ironwill.core.repository.UserRepository;
+import com.ironwill.core.service.RoleRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
@@ -24,7 +24,7 @@ import java.util.Set;
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
 
     @Override
     @Transactional
@@ -34,12 +34,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
         String email = (String) attrs.get("email");
         String name = (String) attrs.getOrDefault("name", email);
 
-        Role userRole = roleRepository.findByName(RoleType.ROLE_USER)
-                .orElseGet(() -> {
-                    Role r = new Role();
-                    r.setName(RoleType.ROLE_USER);
-                    return roleRepository.save(r);
-                });
+        Role userRole = roleRegistry.get(RoleType.ROLE_USER);
 
         User user = userRepository.findByEmail(email).orElseGet(() -> {
             User u = new User();
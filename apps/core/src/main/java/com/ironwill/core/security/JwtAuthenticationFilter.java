@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,13 +15,19 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
+
+    // Trust verified claims (subject, uid, roles) instead of loading the user on every request
+    @Value("${app.security.jwt-stateless:true}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -28,9 +35,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             try {
-                String subject = jwtService.extractSubject(token);
-                if (StringUtils.hasText(subject) && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(subject);
+                JwtService.VerifiedClaims claims = jwtService.extractClaims(token);
+                String subject = claims.subject();
+                if (StringUtils.hasText(subject) && !tokenRevocationService.isRevoked(claims.jti())
+                        && SecurityContextHolder.getContext().getAuthentication() == null) {
+                    UserDetails userDetails = resolvePrincipal(subject, claims);
                     var auth = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(auth);
@@ -41,5 +50,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-}
 
+    private UserDetails resolvePrincipal(String subject, JwtService.VerifiedClaims claims) {
+        String userId = claims.userId();
+        if (stateless && userId != null) {
+            return UserPrincipal.fromClaims(UUID.fromString(userId), subject, claims.roles());
+        }
+        return principalCache.load(subject);
+    }
+}
@@ -1,34 +1,88 @@
 package com.ironwill.core.security;
 
+import com.ironwill.core.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+
+    /**
+     * The claims the application reads from a verified token. Immutable, so one cached instance can be
+     * shared by every request presenting the same token.
+     */
+    public record VerifiedClaims(String subject, String userId, List<String> roles, String jti, Date expiration) {
+
+        public VerifiedClaims {
+            roles = List.copyOf(roles);
+            expiration = expiration == null ? null : new Date(expiration.getTime());
+        }
+
+        @Override
+        public Date expiration() {
+            return expiration == null ? null : new Date(expiration.getTime());
+        }
+    }
+
     private final Key signingKey;
     private final long ttlSeconds;
+    // Parsers are immutable and thread-safe; building one per token is pure overhead
+    private final JwtParser parser;
+    // Token digest -> claims that already passed signature and expiry checks
+    private final Map<String, VerifiedClaims> verified = new ConcurrentHashMap<>();
+    private final int cacheMaxEntries;
 
     public JwtService(@Value("${app.security.jwt-secret}") String secret,
-                      @Value("${app.security.jwt-ttl-seconds:36000}") long ttlSeconds) {
+                      @Value("${app.security.jwt-ttl-seconds:900}") long ttlSeconds,
+                      @Value("${app.security.jwt-cache-max-entries:10000}") int cacheMaxEntries) {
         this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
         this.ttlSeconds = ttlSeconds;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    /**
+     * Access token carrying everything the stateless filter needs: subject (email), user id and roles.
+     */
+    public String generateAccessToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId().toString());
+        claims.put(CLAIM_ROLES, user.getRoles().stream().map(r -> r.getName().name()).toList());
+        return generate(user.getEmail(), claims);
     }
 
     public String generate(String subject, Map<String, Object> claims) {
         Instant now = Instant.now();
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString()) // jti, the handle for revocation
                 .setSubject(subject)
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(now.plusSeconds(ttlSeconds)))
@@ -36,17 +90,72 @@ public class JwtService {
                 .compact();
     }
 
-    public <T> T extract(String token, Function<Claims, T> extractor) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return extractor.apply(claims);
+    public <T> T extract(String token, Function<VerifiedClaims, T> extractor) {
+        return extractor.apply(verify(token));
+    }
+
+    public VerifiedClaims extractClaims(String token) {
+        return verify(token);
     }
 
     public String extractSubject(String token) {
-        return extract(token, Claims::getSubject);
+        return extract(token, VerifiedClaims::subject);
     }
-}
 
+    private VerifiedClaims verify(String token) {
+        long now = System.currentTimeMillis();
+        String key = digest(token);
+        VerifiedClaims cached = verified.get(key);
+        if (cached != null) {
+            if (now < cached.expiration.getTime()) {
+                return cached;
+            }
+            verified.remove(key);
+        }
+
+        // Throws on bad signature or expiry, exactly as before caching
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        VerifiedClaims result = new VerifiedClaims(claims.getSubject(), claims.get(CLAIM_USER_ID, String.class),
+                roles(claims), claims.getId(), claims.getExpiration());
+        if (result.expiration != null) {
+            evictIfFull();
+            verified.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Drops expired entries, so the miss path never has to scan the cache.
+     */
+    @Scheduled(fixedDelayString = "${app.security.jwt-cache-sweep-ms:60000}")
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        verified.values().removeIf(v -> v.expiration.getTime() <= now);
+    }
+
+    // A full cache gives up arbitrary entries rather than refusing new tokens; a dropped one is just reparsed
+    private void evictIfFull() {
+        Iterator<String> it = verified.keySet().iterator();
+        while (verified.size() >= cacheMaxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static List<String> roles(Claims claims) {
+        Object raw = claims.get(CLAIM_ROLES);
+        if (!(raw instanceof Collection<?> values)) {
+            return List.of();
+        }
+        return values.stream().map(String::valueOf).toList();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
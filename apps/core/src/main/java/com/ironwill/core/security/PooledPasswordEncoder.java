@@ -0,0 +1,36 @@
+package com.ironwill.core.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Sends the expensive calls of a delegate encoder to {@link PasswordHashingService}. Only the hashing leaves
+ * the request thread; user lookups and password upgrades around it stay in the caller's transaction.
+ *
+ * @throws java.util.concurrent.RejectedExecutionException from {@link #encode} and {@link #matches} when
+ *         the hashing pool is saturated
+ */
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingService passwordHashingService;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, PasswordHashingService passwordHashingService) {
+        this.delegate = delegate;
+        this.passwordHashingService = passwordHashingService;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return passwordHashingService.run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return passwordHashingService.run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,52 @@
+package com.ironwill.core.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-TTL cache in front of {@link UserDetailsServiceImpl} for tokens that cannot be trusted on claims
+ * alone (stateless mode off, or tokens issued before they carried a user id). Entries are at most
+ * {@code ttl-seconds} old, which bounds how long a role change takes to apply.
+ */
+@Component
+public class PrincipalCache {
+
+    private record Entry(UserDetails principal, long loadedAtMillis) {}
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final UserDetailsServiceImpl userDetailsService;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    public PrincipalCache(UserDetailsServiceImpl userDetailsService,
+                          @Value("${app.security.principal-cache.ttl-seconds:30}") long ttlSeconds,
+                          @Value("${app.security.principal-cache.max-entries:10000}") int maxEntries) {
+        this.userDetailsService = userDetailsService;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    public UserDetails load(String username) {
+        long now = System.currentTimeMillis();
+        Entry cached = entries.get(username);
+        if (cached != null && now - cached.loadedAtMillis() < ttlMillis) {
+            return cached.principal();
+        }
+        UserDetails loaded = userDetailsService.loadUserByUsername(username);
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(e -> now - e.loadedAtMillis() >= ttlMillis);
+        }
+        if (entries.size() < maxEntries) {
+            entries.put(username, new Entry(loaded, now));
+        }
+        return loaded;
+    }
+
+    public void evict(String username) {
+        entries.remove(username);
+    }
+}
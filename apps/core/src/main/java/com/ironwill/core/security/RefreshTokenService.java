@@ -0,0 +1,101 @@
+package com.ironwill.core.security;
+
+import com.ironwill.core.model.RefreshToken;
+import com.ironwill.core.model.User;
+import com.ironwill.core.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Opaque, rotating refresh tokens. Only a SHA-256 of each token is stored. Every refresh revokes the presented
+ * token and issues a new one in the same family; presenting an already revoked token is treated as theft
+ * and revokes the whole family.
+ */
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    public record Rotation(String accessToken, String refreshToken) {}
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtService jwtService;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${app.security.refresh-ttl-days:30}")
+    private long refreshTtlDays;
+
+    @Transactional
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID());
+    }
+
+    // noRollbackFor: a detected reuse must keep the family revocation even though the call fails
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = find(rawToken);
+        if (current.getRevokedAt() != null) {
+            log.warn("Refresh token reuse detected; revoking family {}", current.getFamilyId());
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), OffsetDateTime.now());
+            throw new BadCredentialsException("Refresh token revoked");
+        }
+        if (current.getExpiresAt().isBefore(OffsetDateTime.now())) {
+            throw new BadCredentialsException("Refresh token expired");
+        }
+        current.setRevokedAt(OffsetDateTime.now());
+        User user = current.getUser();
+        return new Rotation(jwtService.generateAccessToken(user), issue(user, current.getFamilyId()));
+    }
+
+    @Transactional
+    public void revokeFamily(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(t -> refreshTokenRepository.revokeFamily(t.getFamilyId(), OffsetDateTime.now()));
+    }
+
+    private String issue(User user, UUID familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setUser(user);
+        token.setTokenHash(hash(raw));
+        token.setFamilyId(familyId);
+        token.setExpiresAt(OffsetDateTime.now().plusDays(refreshTtlDays));
+        refreshTokenRepository.save(token);
+        return raw;
+    }
+
+    private RefreshToken find(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new BadCredentialsException("Refresh token required");
+        }
+        return refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException("Unknown refresh token"));
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.ironwill.core.security;
+
+import com.ironwill.core.model.RevokedToken;
+import com.ironwill.core.repository.RevokedTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of revoked access-token ids (jti), mirrored from {@code revoked_tokens}. The JWT filter checks
+ * it on every request without a query; other instances pick up revocations on the next sync. Entries drop
+ * out once the token would have expired anyway, so the set only holds revocations younger than the
+ * access-token TTL.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+    // Overlap between syncs so rows committed slightly out of order are not skipped
+    private static final long SYNC_OVERLAP_SECONDS = 30;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>(); // jti -> expiry millis
+    private volatile OffsetDateTime lastSync;
+
+    public boolean isRevoked(String jti) {
+        return jti != null && revoked.containsKey(jti);
+    }
+
+    public void revoke(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        RevokedToken row = new RevokedToken();
+        row.setJti(jti);
+        row.setExpiresAt(expiresAt.toInstant().atOffset(OffsetDateTime.now().getOffset()));
+        row.setRevokedAt(OffsetDateTime.now());
+        revokedTokenRepository.save(row);
+        revoked.put(jti, expiresAt.getTime());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        OffsetDateTime now = OffsetDateTime.now();
+        revokedTokenRepository.findByExpiresAtAfter(now).forEach(this::remember);
+        lastSync = now;
+        log.info("Loaded {} revoked token ids", revoked.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation-sync-ms:10000}")
+    public void sync() {
+        if (lastSync == null) {
+            return; // initial load not done yet
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        revokedTokenRepository.findByRevokedAtAfter(lastSync.minusSeconds(SYNC_OVERLAP_SECONDS)).forEach(this::remember);
+        lastSync = now;
+        long nowMillis = System.currentTimeMillis();
+        revoked.values().removeIf(exp -> exp <= nowMillis);
+    }
+
+    @Scheduled(cron = "${app.security.revocation-purge-cron:0 0 4 * * *}")
+    public void purgeExpired() {
+        revokedTokenRepository.deleteByExpiresAtBefore(OffsetDateTime.now());
+    }
+
+    private void remember(RevokedToken row) {
+        revoked.put(row.getJti(), row.getExpiresAt().toInstant().toEpochMilli());
+    }
+}
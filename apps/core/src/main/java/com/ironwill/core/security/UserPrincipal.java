@@ -7,33 +7,57 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 public class UserPrincipal implements UserDetails {
 
-    private final User user;
+    private final UUID id;
+    private final String email;
+    private final String passwordHash;
+    private final Set<GrantedAuthority> authorities;
 
     public UserPrincipal(User user) {
-        this.user = user;
+        this(user.getId(), user.getEmail(), user.getPasswordHash(), user.getRoles().stream()
+                .map(Role::getName)
+                .map(Enum::name)
+                .collect(Collectors.toSet()));
+    }
+
+    private UserPrincipal(UUID id, String email, String passwordHash, Collection<String> roles) {
+        this.id = id;
+        this.email = email;
+        this.passwordHash = passwordHash;
+        this.authorities = roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Principal rebuilt from verified token claims; carries no password and needs no database lookup.
+     */
+    public static UserPrincipal fromClaims(UUID id, String email, Collection<String> roles) {
+        return new UserPrincipal(id, email, null, roles);
+    }
+
+    public UUID getId() {
+        return id;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return user.getRoles().stream()
-                .map(Role::getName)
-                .map(Enum::name)
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toSet());
+        return authorities;
     }
 
     @Override
     public String getPassword() {
-        return user.getPasswordHash();
+        return passwordHash;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
@@ -56,4 +80,3 @@ public class UserPrincipal implements UserDetails {
         return true;
     }
 }
-
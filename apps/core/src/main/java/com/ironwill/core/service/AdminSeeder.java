@@ -3,7 +3,6 @@ package com.ironwill.core.service;
 import com.ironwill.core.model.Role;
 import com.ironwill.core.model.RoleType;
 import com.ironwill.core.model.User;
-import com.ironwill.core.repository.RoleRepository;
 import com.ironwill.core.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -23,7 +22,7 @@ public class AdminSeeder implements CommandLineRunner {
 
     private static final Logger log = LoggerFactory.getLogger(AdminSeeder.class);
 
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
@@ -41,18 +40,8 @@ public class AdminSeeder implements CommandLineRunner {
             return;
         }
 
-        Role adminRole = roleRepository.findByName(RoleType.ROLE_ADMIN)
-                .orElseGet(() -> {
-                    Role r = new Role();
-                    r.setName(RoleType.ROLE_ADMIN);
-                    return roleRepository.save(r);
-                });
-        roleRepository.findByName(RoleType.ROLE_USER)
-                .orElseGet(() -> {
-                    Role r = new Role();
-                    r.setName(RoleType.ROLE_USER);
-                    return roleRepository.save(r);
-                });
+        // Both roles are guaranteed to exist once the registry has started
+        Role adminRole = roleRegistry.get(RoleType.ROLE_ADMIN);
 
         userRepository.findByEmail(adminEmail).ifPresentOrElse(
                 u -> log.info("Admin user already exists: {}", adminEmail),
@@ -0,0 +1,132 @@
+package com.ironwill.core.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * BK-tree over 256-bit hashes ({@code long[4]}) under Hamming distance. A query of radius {@code r} only descends
+ * into children whose edge distance is within {@code r} of the distance to the current node, so most of the tree
+ * is skipped for small radii. Children are kept in small sorted arrays rather than a 257-slot table to keep nodes
+ * compact. Thread-safe; readers run concurrently.
+ */
+final class BkTree<T> {
+
+    private static final class Node<T> {
+        final long[] hash;
+        final List<T> values = new ArrayList<>(1);
+        short[] edges = new short[0];
+        @SuppressWarnings("unchecked")
+        Node<T>[] children = new Node[0];
+
+        Node(long[] hash, T value) {
+            this.hash = hash;
+            values.add(value);
+        }
+
+        Node<T> child(int distance) {
+            int i = Arrays.binarySearch(edges, (short) distance);
+            return i >= 0 ? children[i] : null;
+        }
+
+        void addChild(int distance, Node<T> child) {
+            int i = -Arrays.binarySearch(edges, (short) distance) - 1;
+            short[] e = new short[edges.length + 1];
+            @SuppressWarnings("unchecked")
+            Node<T>[] c = new Node[children.length + 1];
+            System.arraycopy(edges, 0, e, 0, i);
+            System.arraycopy(children, 0, c, 0, i);
+            e[i] = (short) distance;
+            c[i] = child;
+            System.arraycopy(edges, i, e, i + 1, edges.length - i);
+            System.arraycopy(children, i, c, i + 1, children.length - i);
+            edges = e;
+            children = c;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node<T> root;
+    private int size;
+
+    static int distance(long[] a, long[] b) {
+        int d = 0;
+        for (int i = 0; i < a.length; i++) {
+            d += Long.bitCount(a[i] ^ b[i]);
+        }
+        return d;
+    }
+
+    void add(long[] hash, T value) {
+        lock.writeLock().lock();
+        try {
+            size++;
+            if (root == null) {
+                root = new Node<>(hash, value);
+                return;
+            }
+            Node<T> node = root;
+            while (true) {
+                int d = distance(node.hash, hash);
+                if (d == 0) {
+                    node.values.add(value);
+                    return;
+                }
+                Node<T> next = node.child(d);
+                if (next == null) {
+                    node.addChild(d, new Node<>(hash, value));
+                    return;
+                }
+                node = next;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * First value within {@code radius} of {@code hash} that the filter accepts, or null.
+     */
+    T findWithin(long[] hash, int radius, Predicate<T> filter) {
+        lock.readLock().lock();
+        try {
+            if (root == null) {
+                return null;
+            }
+            List<Node<T>> stack = new ArrayList<>();
+            stack.add(root);
+            while (!stack.isEmpty()) {
+                Node<T> node = stack.remove(stack.size() - 1);
+                int d = distance(node.hash, hash);
+                if (d <= radius) {
+                    for (T value : node.values) {
+                        if (filter.test(value)) {
+                            return value;
+                        }
+                    }
+                }
+                short[] edges = node.edges;
+                for (int i = 0; i < edges.length; i++) {
+                    if (Math.abs(edges[i] - d) <= radius) {
+                        stack.add(node.children[i]);
+                    }
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.ironwill.core.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Holds one dedicated connection that LISTENs on the NOTIFY channels of {@link GoalReadCache}
+ * ({@code goal_cache}) and {@link UnreadCountCache} ({@code unread_changed}), and applies the invalidations
+ * other instances send. After a lost connection both caches are cleared, since notifications may have been
+ * missed.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationListener.class);
+    private static final int POLL_TIMEOUT_MS = 5000;
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    private final DataSource dataSource;
+    private final GoalReadCache goalReadCache;
+    private final UnreadCountCache unreadCountCache;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!goalReadCache.isListenNotify() && !unreadCountCache.isListenNotify()) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::listenLoop, "cache-invalidation-listener");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement st = connection.createStatement()) {
+                    if (goalReadCache.isListenNotify()) {
+                        st.execute("LISTEN " + GoalReadCache.CHANNEL);
+                    }
+                    if (unreadCountCache.isListenNotify()) {
+                        st.execute("LISTEN " + UnreadCountCache.CHANNEL);
+                    }
+                }
+                clearAll();
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification n : notifications) {
+                        apply(n);
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection; retrying: {}", e.getMessage());
+                clearAll();
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void apply(PGNotification n) {
+        UUID userId;
+        try {
+            userId = UUID.fromString(n.getParameter());
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed {} notification: {}", n.getName(), n.getParameter());
+            return;
+        }
+        if (GoalReadCache.CHANNEL.equals(n.getName())) {
+            goalReadCache.invalidateLocal(userId);
+        } else if (UnreadCountCache.CHANNEL.equals(n.getName())) {
+            unreadCountCache.invalidateLocal(userId);
+        }
+    }
+
+    private void clearAll() {
+        if (goalReadCache.isListenNotify()) {
+            goalReadCache.clear();
+        }
+        if (unreadCountCache.isListenNotify()) {
+            unreadCountCache.clear();
+        }
+    }
+}
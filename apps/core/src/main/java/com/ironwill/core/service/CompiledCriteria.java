@@ -0,0 +1,120 @@
+package com.ironwill.core.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, pre-parsed form of a goal's {@code criteria_config}, checked against the agent's
+ * {@code extracted_metrics}. Built by {@link CriteriaCompiler}; all rules must hold for a PASS.
+ */
+public final class CompiledCriteria {
+
+    public enum Outcome { PASS, FAIL, UNKNOWN }
+
+    /** Key the agent uses for the single value it read for the goal's metric. */
+    static final String PRIMARY_VALUE = "primary_value";
+
+    static final CompiledCriteria UNSUPPORTED = new CompiledCriteria(List.of());
+
+    enum Operator {
+        GTE(">="), GT(">"), LTE("<="), LT("<"), EQ("=="), NE("!=");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        static Operator parse(String value) {
+            String v = value.trim();
+            if (v.equals("=")) {
+                return EQ;
+            }
+            for (Operator op : values()) {
+                if (op.symbol.equals(v) || op.name().equalsIgnoreCase(v)) {
+                    return op;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported operator: " + value);
+        }
+
+        boolean test(int cmp) {
+            return switch (this) {
+                case GTE -> cmp >= 0;
+                case GT -> cmp > 0;
+                case LTE -> cmp <= 0;
+                case LT -> cmp < 0;
+                case EQ -> cmp == 0;
+                case NE -> cmp != 0;
+            };
+        }
+    }
+
+    /**
+     * One comparison. Numeric targets compare as doubles; text targets only support equality, case-insensitive.
+     */
+    record Rule(String metric, Operator operator, Double numericTarget, String textTarget) {
+
+        Outcome evaluate(Map<String, Object> metrics, boolean single) {
+            Object value = metrics.get(metric);
+            if (value == null && single) {
+                value = metrics.get(PRIMARY_VALUE);
+            }
+            if (value == null) {
+                return Outcome.UNKNOWN;
+            }
+            if (numericTarget != null) {
+                Double actual = toDouble(value);
+                if (actual == null) {
+                    return Outcome.UNKNOWN;
+                }
+                return operator.test(Double.compare(actual, numericTarget)) ? Outcome.PASS : Outcome.FAIL;
+            }
+            boolean equal = textTarget.equalsIgnoreCase(value.toString().trim());
+            return (operator == Operator.EQ) == equal ? Outcome.PASS : Outcome.FAIL;
+        }
+
+        private static Double toDouble(Object value) {
+            if (value instanceof Number n) {
+                return n.doubleValue();
+            }
+            try {
+                return Double.parseDouble(value.toString().trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    private final List<Rule> rules;
+
+    CompiledCriteria(List<Rule> rules) {
+        this.rules = List.copyOf(rules);
+    }
+
+    public boolean isSupported() {
+        return !rules.isEmpty();
+    }
+
+    /**
+     * FAIL if any rule fails, UNKNOWN if none fails but a metric is missing or unreadable, otherwise PASS.
+     * A single-rule criteria falls back to {@code primary_value} when its metric is not reported by name.
+     */
+    public Outcome evaluate(Map<String, Object> metrics) {
+        if (rules.isEmpty() || metrics == null) {
+            return Outcome.UNKNOWN;
+        }
+        boolean single = rules.size() == 1;
+        Outcome result = Outcome.PASS;
+        for (Rule rule : rules) {
+            Outcome outcome = rule.evaluate(metrics, single);
+            if (outcome == Outcome.FAIL) {
+                return Outcome.FAIL;
+            }
+            if (outcome == Outcome.UNKNOWN) {
+                result = Outcome.UNKNOWN;
+            }
+        }
+        return result;
+    }
+}
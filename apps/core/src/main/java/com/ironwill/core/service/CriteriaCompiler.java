@@ -0,0 +1,117 @@
+package com.ironwill.core.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ironwill.core.model.Goal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles {@code criteria_config} into {@link CompiledCriteria}. Accepts the agent's
+ * {@code {metric, operator, target}} shape or {@code {rules: [...]}} of the same; anything else compiles to an
+ * unsupported criteria that always evaluates to UNKNOWN.
+ * <p>
+ * Results are cached per goal and reused until the goal's {@code updatedAt} changes. Goals without an
+ * {@code updatedAt} (not yet flushed, or built by hand) are keyed by their criteria JSON instead.
+ */
+@Component
+public class CriteriaCompiler {
+
+    private static final Logger log = LoggerFactory.getLogger(CriteriaCompiler.class);
+
+    private record Entry(Object version, CompiledCriteria criteria) {}
+
+    private final Map<UUID, Entry> cache = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public CriteriaCompiler(@Value("${app.criteria.cache.max-entries:50000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public CompiledCriteria forGoal(Goal goal) {
+        if (goal.getId() == null) {
+            return compile(goal.getCriteriaConfig()); // nothing to key the cache on yet
+        }
+        Object version = version(goal);
+        Entry cached = cache.get(goal.getId());
+        if (cached != null && Objects.equals(cached.version(), version)) {
+            return cached.criteria();
+        }
+        CompiledCriteria compiled = compile(goal.getCriteriaConfig());
+        evictIfFull();
+        cache.put(goal.getId(), new Entry(version, compiled));
+        return compiled;
+    }
+
+    // A null updatedAt would match every later edit of an unflushed goal, so fall back to the content itself
+    private static Object version(Goal goal) {
+        OffsetDateTime updatedAt = goal.getUpdatedAt();
+        if (updatedAt != null) {
+            return updatedAt;
+        }
+        JsonNode config = goal.getCriteriaConfig();
+        return config == null ? "" : config.toString();
+    }
+
+    public CompiledCriteria compile(JsonNode config) {
+        if (config == null || !config.isObject()) {
+            return CompiledCriteria.UNSUPPORTED;
+        }
+        try {
+            List<CompiledCriteria.Rule> rules = new ArrayList<>();
+            JsonNode list = config.get("rules");
+            if (list != null && list.isArray()) {
+                for (JsonNode node : list) {
+                    rules.add(rule(node));
+                }
+            } else {
+                rules.add(rule(config));
+            }
+            return new CompiledCriteria(rules);
+        } catch (IllegalArgumentException e) {
+            log.debug("Criteria not evaluable in core: {}", e.getMessage());
+            return CompiledCriteria.UNSUPPORTED;
+        }
+    }
+
+    private CompiledCriteria.Rule rule(JsonNode node) {
+        JsonNode metric = node.get("metric");
+        JsonNode operator = node.get("operator");
+        JsonNode target = node.get("target");
+        if (metric == null || !metric.isTextual() || operator == null || !operator.isTextual()
+                || target == null || target.isNull() || target.isContainerNode()) {
+            throw new IllegalArgumentException("Rule needs metric, operator and target");
+        }
+        CompiledCriteria.Operator op = CompiledCriteria.Operator.parse(operator.asText());
+        if (target.isNumber()) {
+            return new CompiledCriteria.Rule(metric.asText(), op, target.asDouble(), null);
+        }
+        try {
+            return new CompiledCriteria.Rule(metric.asText(), op, Double.parseDouble(target.asText().trim()), null);
+        } catch (NumberFormatException ignored) {
+            // text target
+        }
+        if (op != CompiledCriteria.Operator.EQ && op != CompiledCriteria.Operator.NE) {
+            throw new IllegalArgumentException("Text target needs == or !=");
+        }
+        return new CompiledCriteria.Rule(metric.asText(), op, null, target.asText().trim());
+    }
+
+    private void evictIfFull() {
+        Iterator<UUID> it = cache.keySet().iterator();
+        while (cache.size() >= maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
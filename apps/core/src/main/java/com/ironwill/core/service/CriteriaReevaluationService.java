@@ -0,0 +1,62 @@
+package com.ironwill.core.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ironwill.core.model.AuditStatus;
+import com.ironwill.core.repository.AuditLogRepository;
+import com.ironwill.core.repository.AuditMetricsView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Re-checks a goal's stored audits against criteria, using the {@code extracted_metrics} the agent already
+ * returned, so changed criteria can be tried on past proof without another agent call. Read-only: stored
+ * verdicts, scores, streaks and rollups are left as they were.
+ */
+@Service
+@RequiredArgsConstructor
+public class CriteriaReevaluationService {
+
+    public record Result(LocalDate auditDate, AuditStatus status, CompiledCriteria.Outcome outcome) {}
+
+    /**
+     * {@code newlyFailing} counts VERIFIED audits the criteria would fail, i.e. PASS verdicts that
+     * {@code app.criteria.enforce} would have turned into rejections.
+     */
+    public record Report(boolean supported, int pass, int fail, int unknown, int newlyFailing, List<Result> audits) {}
+
+    private final CriteriaCompiler criteriaCompiler;
+    private final AuditLogRepository auditLogRepository;
+
+    public Report reevaluate(UUID goalId, JsonNode criteriaConfig, LocalDate from, LocalDate to) {
+        return evaluate(criteriaCompiler.compile(criteriaConfig),
+                auditLogRepository.findExtractedMetrics(goalId, from, to));
+    }
+
+    static Report evaluate(CompiledCriteria criteria, List<AuditMetricsView> audits) {
+        List<Result> results = new ArrayList<>(audits.size());
+        int pass = 0;
+        int fail = 0;
+        int unknown = 0;
+        int newlyFailing = 0;
+        for (AuditMetricsView audit : audits) {
+            CompiledCriteria.Outcome outcome = criteria.evaluate(audit.extractedMetrics());
+            switch (outcome) {
+                case PASS -> pass++;
+                case FAIL -> {
+                    fail++;
+                    if (audit.status() == AuditStatus.VERIFIED) {
+                        newlyFailing++;
+                    }
+                }
+                case UNKNOWN -> unknown++;
+            }
+            results.add(new Result(audit.auditDate(), audit.status(), outcome));
+        }
+        return new Report(criteria.isSupported(), pass, fail, unknown, newlyFailing, results);
+    }
+}
@@ -2,24 +2,72 @@ package com.ironwill.core.service;
 
 import com.ironwill.core.model.User;
 import com.ironwill.core.repository.UserRepository;
+import com.ironwill.core.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class CurrentUserService {
 
+    private static final String REQUEST_ATTRIBUTE = CurrentUserService.class.getName() + ".user";
+
     private final UserRepository userRepository;
 
+    /**
+     * Id of the authenticated user, taken from the principal without a query when it carries one.
+     */
+    public UUID requireCurrentUserId() {
+        Authentication auth = requireAuthentication();
+        if (auth.getPrincipal() instanceof UserPrincipal principal && principal.getId() != null) {
+            return principal.getId();
+        }
+        return requireCurrentUser().getId();
+    }
+
+    /**
+     * Lazy reference for use as a foreign key (e.g. {@code goal.setUser(...)}); issues no SELECT.
+     */
+    public User currentUserReference() {
+        return userRepository.getReferenceById(requireCurrentUserId());
+    }
+
+    /**
+     * Fully loaded user, fetched at most once per HTTP request.
+     */
     public User requireCurrentUser() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User cached) {
+            return cached;
+        }
+        User user = load(requireAuthentication());
+        if (attributes != null) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    private User load(Authentication auth) {
+        if (auth.getPrincipal() instanceof UserPrincipal principal && principal.getId() != null) {
+            return userRepository.findById(principal.getId())
+                    .orElseThrow(() -> new IllegalStateException("User not found: " + auth.getName()));
+        }
+        return userRepository.findByEmail(auth.getName())
+                .orElseThrow(() -> new IllegalStateException("User not found: " + auth.getName()));
+    }
+
+    private Authentication requireAuthentication() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || auth.getName() == null) {
             throw new IllegalStateException("No authenticated user");
         }
-        return userRepository.findByEmail(auth.getName())
-                .orElseThrow(() -> new IllegalStateException("User not found: " + auth.getName()));
+        return auth;
     }
 }
-
@@ -0,0 +1,264 @@
+package com.ironwill.core.service;
+
+import com.ironwill.core.model.LockoutEvent;
+import com.ironwill.core.repository.LockoutEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Incremental daily rollups behind the calendar heatmap and admin charts.
+ * <p>
+ * The request path only queues the (user, day) pairs it touched in {@code rollup_dirty_days}. A scheduled refresh
+ * drains the queue in batches: each claimed pair is recomputed from that user's audits and lockout events for the
+ * day, and the difference between its old and new per-user row is added to the day's global row in the same
+ * transaction. Nothing ever scans {@code audit_logs}, {@code goals}, {@code users} or a whole day of per-user rows,
+ * and reads are primary-key range lookups.
+ * <p>
+ * Refreshes take a transaction-scoped advisory lock, so with several instances only one drains at a time and no
+ * two batches apply deltas against the same per-user row concurrently. The SQL is PostgreSQL-only; only the delta
+ * arithmetic is covered by unit tests.
+ */
+@Service
+public class DailyRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyRollupService.class);
+    private static final long REFRESH_LOCK = 0x1A0D_7011_0B5EL;
+
+    private static final String MARK_SQL =
+            "insert into rollup_dirty_days (user_id, rollup_date) values (?, ?) on conflict do nothing";
+
+    private static final String CLAIM_SQL =
+            "delete from rollup_dirty_days where (user_id, rollup_date) in " +
+            "(select user_id, rollup_date from rollup_dirty_days limit ?) returning user_id, rollup_date";
+
+    // Recomputes the claimed pairs and returns each one's counts before and after; all parts of the statement see
+    // the same snapshot, so "old" holds the rows as they were before the upsert
+    private static final String USER_REFRESH_SQL =
+            "with claimed as (select * from unnest(?::uuid[], ?::date[]) as d(user_id, day)), " +
+            "old as (select r.user_id, r.rollup_date, r.verified, r.rejected, r.missed, r.lockouts " +
+            "from daily_user_rollups r join claimed d on r.user_id = d.user_id and r.rollup_date = d.day), " +
+            "fresh as (insert into daily_user_rollups " +
+            "(user_id, rollup_date, verified, rejected, missed, score_impact, lockouts, updated_at) " +
+            "select d.user_id, d.day, " +
+            "count(a.id) filter (where a.status = 'VERIFIED'), " +
+            "count(a.id) filter (where a.status = 'REJECTED'), " +
+            "count(a.id) filter (where a.status = 'MISSED'), " +
+            "coalesce(sum(a.score_impact), 0), " +
+            "(select count(*) from lockout_events l where l.user_id = d.user_id and l.locked_on = d.day), " +
+            "now() " +
+            "from claimed d " +
+            "left join goals g on g.user_id = d.user_id " +
+            "left join audit_logs a on a.goal_id = g.id and a.audit_date = d.day " +
+            "group by d.user_id, d.day " +
+            "on conflict (user_id, rollup_date) do update set verified = excluded.verified, " +
+            "rejected = excluded.rejected, missed = excluded.missed, score_impact = excluded.score_impact, " +
+            "lockouts = excluded.lockouts, updated_at = excluded.updated_at " +
+            "returning user_id, rollup_date, verified, rejected, missed, lockouts) " +
+            "select f.rollup_date, " +
+            "coalesce(o.verified, 0), coalesce(o.rejected, 0), coalesce(o.missed, 0), coalesce(o.lockouts, 0), " +
+            "f.verified, f.rejected, f.missed, f.lockouts " +
+            "from fresh f left join old o on o.user_id = f.user_id and o.rollup_date = f.rollup_date";
+
+    private static final String GLOBAL_DELTA_SQL =
+            "insert into daily_rollups " +
+            "(rollup_date, verified, rejected, missed, active_users, lockouts, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?, now()) " +
+            "on conflict (rollup_date) do update set verified = daily_rollups.verified + excluded.verified, " +
+            "rejected = daily_rollups.rejected + excluded.rejected, missed = daily_rollups.missed + excluded.missed, " +
+            "active_users = daily_rollups.active_users + excluded.active_users, " +
+            "lockouts = daily_rollups.lockouts + excluded.lockouts, updated_at = excluded.updated_at";
+
+    private static final String GLOBAL_CLEAR_SQL = "delete from daily_rollups where rollup_date between ? and ?";
+
+    private static final String GLOBAL_RECOMPUTE_SQL =
+            "insert into daily_rollups " +
+            "(rollup_date, verified, rejected, missed, active_users, lockouts, updated_at) " +
+            "select r.rollup_date, sum(r.verified), sum(r.rejected), sum(r.missed), " +
+            "count(*) filter (where r.verified + r.rejected + r.missed > 0), sum(r.lockouts), now() " +
+            "from daily_user_rollups r where r.rollup_date between ? and ? " +
+            "group by r.rollup_date";
+
+    private static final String BACKFILL_SQL =
+            "insert into rollup_dirty_days (user_id, rollup_date) " +
+            "select g.user_id, a.audit_date from audit_logs a join goals g on g.id = a.goal_id " +
+            "where a.audit_date between ? and ? " +
+            "union select l.user_id, l.locked_on from lockout_events l where l.locked_on between ? and ? " +
+            "on conflict do nothing";
+
+    public record Report(long marked, long refreshed, long days) {}
+
+    private record Batch(int pairs, int days) {}
+
+    /**
+     * One user's counts for one day, as stored in {@code daily_user_rollups}; a missing row is all zeros.
+     */
+    record Counts(int verified, int rejected, int missed, int lockouts) {
+        boolean active() {
+            return verified + rejected + missed > 0;
+        }
+    }
+
+    /**
+     * What a batch adds to one day's {@code daily_rollups} row.
+     */
+    record DayDelta(long verified, long rejected, long missed, long activeUsers, long lockouts) {
+        static final DayDelta ZERO = new DayDelta(0, 0, 0, 0, 0);
+
+        DayDelta plus(Counts before, Counts after) {
+            return new DayDelta(verified + after.verified() - before.verified(),
+                    rejected + after.rejected() - before.rejected(),
+                    missed + after.missed() - before.missed(),
+                    activeUsers + (after.active() ? 1 : 0) - (before.active() ? 1 : 0),
+                    lockouts + after.lockouts() - before.lockouts());
+        }
+
+        boolean isZero() {
+            return equals(ZERO);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LockoutEventRepository lockoutEventRepository;
+    private final TransactionTemplate refreshTx;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+
+    public DailyRollupService(JdbcTemplate jdbcTemplate,
+                              LockoutEventRepository lockoutEventRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.rollups.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lockoutEventRepository = lockoutEventRepository;
+        this.refreshTx = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Queues the user's rollup for {@code day}. A single-row insert, safe to call on every verdict.
+     */
+    public void markDirty(UUID userId, LocalDate day) {
+        jdbcTemplate.update(MARK_SQL, userId, day);
+    }
+
+    /**
+     * Records a lockout (goals locked by a score drop) against today's rollup. Call in the transaction that
+     * locks the goals.
+     */
+    public void recordLockout(UUID userId) {
+        LocalDate today = LocalDate.now();
+        LockoutEvent event = new LockoutEvent();
+        event.setUserId(userId);
+        event.setLockedOn(today);
+        lockoutEventRepository.save(event);
+        markDirty(userId, today);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rollups.refresh-ms:60000}",
+            initialDelayString = "${app.rollups.refresh-ms:60000}")
+    public void scheduledRefresh() {
+        Report report = refresh();
+        if (report.refreshed() > 0) {
+            log.debug("Rollup refresh: {}", report);
+        }
+    }
+
+    /**
+     * Drains the dirty queue; pairs queued while this runs are picked up by the same call or the next one.
+     */
+    public Report refresh() {
+        long pairs = 0;
+        long days = 0;
+        Batch batch;
+        do {
+            batch = Objects.requireNonNull(refreshTx.execute(status -> refreshBatch()));
+            pairs += batch.pairs();
+            days += batch.days();
+        } while (batch.pairs() == batchSize);
+        meterRegistry.counter("ironwill.rollups.refreshed").increment(pairs);
+        return new Report(0, pairs, days);
+    }
+
+    /**
+     * Re-queues every (user, day) with audits or lockouts in {@code [from, to]} and refreshes them, then
+     * recomputes the range's global rows from the per-user rows, which repairs any drift in the deltas. Used to
+     * backfill after deploying the tables or to repair a range by hand; lockouts from before
+     * {@code lockout_events} existed cannot be recovered.
+     */
+    public Report rebuild(LocalDate from, LocalDate to) {
+        int marked = Objects.requireNonNull(refreshTx.execute(status ->
+                jdbcTemplate.update(BACKFILL_SQL, from, to, from, to)));
+        Report refreshed = refresh();
+        refreshTx.executeWithoutResult(status -> {
+            lock();
+            jdbcTemplate.update(GLOBAL_CLEAR_SQL, from, to);
+            jdbcTemplate.update(GLOBAL_RECOMPUTE_SQL, from, to);
+        });
+        Report report = new Report(marked, refreshed.refreshed(), refreshed.days());
+        log.info("Rollup rebuild {}..{}: {}", from, to, report);
+        return report;
+    }
+
+    private Batch refreshBatch() {
+        lock();
+
+        List<UUID> users = new ArrayList<>(batchSize);
+        List<Date> userDays = new ArrayList<>(batchSize);
+        jdbcTemplate.query(CLAIM_SQL, (RowCallbackHandler) rs -> {
+            users.add(rs.getObject(1, UUID.class));
+            userDays.add(Date.valueOf(rs.getObject(2, LocalDate.class)));
+        }, batchSize);
+        if (users.isEmpty()) {
+            return new Batch(0, 0);
+        }
+
+        Map<LocalDate, DayDelta> deltas = new TreeMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(USER_REFRESH_SQL);
+            ps.setArray(1, con.createArrayOf("uuid", users.toArray()));
+            ps.setArray(2, con.createArrayOf("date", userDays.toArray()));
+            return ps;
+        }, (RowCallbackHandler) rs -> addDelta(deltas, rs.getObject(1, LocalDate.class),
+                new Counts(rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getInt(5)),
+                new Counts(rs.getInt(6), rs.getInt(7), rs.getInt(8), rs.getInt(9))));
+
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((day, delta) -> {
+            if (!delta.isZero()) {
+                rows.add(new Object[]{day, delta.verified(), delta.rejected(), delta.missed(),
+                        delta.activeUsers(), delta.lockouts()});
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(GLOBAL_DELTA_SQL, rows);
+        }
+        return new Batch(users.size(), deltas.size());
+    }
+
+    static void addDelta(Map<LocalDate, DayDelta> deltas, LocalDate day, Counts before, Counts after) {
+        deltas.compute(day, (d, delta) -> (delta == null ? DayDelta.ZERO : delta).plus(before, after));
+    }
+
+    private void lock() {
+        jdbcTemplate.query("select pg_advisory_xact_lock(?)", (RowCallbackHandler) rs -> { }, REFRESH_LOCK);
+    }
+}
@@ -0,0 +1,204 @@
+package com.ironwill.core.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Streams a user's audits or notifications as NDJSON or CSV. Rows come from a forward-only JDBC cursor (fetch
+ * size {@code app.export.fetch-size}) inside a read-only transaction and are written one at a time, so memory
+ * stays constant whatever the history length. Writes block on the client's socket, which throttles the cursor
+ * to the client's pace.
+ * <p>
+ * At most {@code app.export.max-concurrent} exports run at once; each holds a connection until it finishes.
+ */
+@Service
+public class ExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        public final String contentType;
+        public final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+    }
+
+    private static final String AUDITS_SQL =
+            "select a.audit_date, a.goal_id, g.title as goal_title, a.status, a.score_impact, a.primary_value, " +
+            "a.agent_remarks, a.submitted_at from audit_logs a join goals g on g.id = a.goal_id " +
+            "where g.user_id = ? order by a.audit_date, a.goal_id";
+    private static final String NOTIFICATIONS_SQL =
+            "select id, message, is_read, created_at from notifications where user_id = ? order by created_at, id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTx;
+    // Generators only fill the writer's buffer; flushing to the socket is left to the buffers downstream
+    private final JsonFactory jsonFactory = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    private final Semaphore slots;
+    private final int fetchSize;
+
+    public ExportService(JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.export.max-concurrent:4}") int maxConcurrent,
+                         @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.slots = new Semaphore(maxConcurrent);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Reserves an export slot; false when all are busy. Every successful call must be followed by {@link #release()}.
+     */
+    public boolean tryAcquire() {
+        return slots.tryAcquire();
+    }
+
+    public void release() {
+        slots.release();
+    }
+
+    public void writeAudits(UUID userId, Format format, OutputStream out) throws IOException {
+        write(AUDITS_SQL, userId, format, out);
+    }
+
+    public void writeNotifications(UUID userId, Format format, OutputStream out) throws IOException {
+        write(NOTIFICATIONS_SQL, userId, format, out);
+    }
+
+    private void write(String sql, UUID userId, Format format, OutputStream out) throws IOException {
+        try {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+            readOnlyTx.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                ps.setObject(1, userId);
+                return ps;
+            }, rs -> {
+                try {
+                    rows.write(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // client went away; abort the cursor
+                }
+            }));
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+
+        NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            ResultSetMetaData meta = rs.getMetaData();
+            JsonGenerator gen = jsonFactory.createGenerator(writer);
+            gen.writeStartObject();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                gen.writeFieldName(meta.getColumnLabel(i).toLowerCase());
+                Object value = rs.getObject(i);
+                if (value == null) {
+                    gen.writeNull();
+                } else if (value instanceof BigDecimal d) {
+                    gen.writeNumber(d);
+                } else if (value instanceof Number n) {
+                    gen.writeNumber(n.toString());
+                } else if (value instanceof Boolean b) {
+                    gen.writeBoolean(b);
+                } else {
+                    gen.writeString(value.toString());
+                }
+            }
+            gen.writeEndObject();
+            gen.flush();
+            writer.write('\n');
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private boolean headerWritten;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            ResultSetMetaData meta = rs.getMetaData();
+            int columns = meta.getColumnCount();
+            if (!headerWritten) {
+                for (int i = 1; i <= columns; i++) {
+                    writer.write(i > 1 ? "," : "");
+                    writer.write(meta.getColumnLabel(i).toLowerCase());
+                }
+                writer.write("\r\n");
+                headerWritten = true;
+            }
+            for (int i = 1; i <= columns; i++) {
+                writer.write(i > 1 ? "," : "");
+                Object value = rs.getObject(i);
+                if (value != null) {
+                    writer.write(escape(value.toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private static String escape(String value) {
+            // Leading =, +, - or @ would be evaluated as a formula by spreadsheet apps
+            if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0 && !isNumber(value)) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        private static boolean isNumber(String value) {
+            try {
+                Double.parseDouble(value);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.ironwill.core.service;
+
+import com.ironwill.core.model.Goal;
+import com.ironwill.core.repository.GoalRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user snapshot of all goals, read by the goal list. The nag scheduler and lockout read the repository, so
+ * batch sweeps never evict the entries of users on the dashboard.
+ * <p>
+ * Every write path calls {@link #invalidate} inside its transaction. That bumps the user's version and drops
+ * the entry right away and again when the transaction completes. A load only stores its result if the version did not move while it ran. With
+ * {@code listen-notify} (on by default when the database is Postgres) the invalidation is also sent over
+ * NOTIFY (delivered on commit) so other instances drop their copy; see {@link CacheInvalidationListener}.
+ * Entries also expire after {@code ttl-ms}, which bounds staleness when a notification is missed or
+ * listen-notify is off.
+ * <p>
+ * Bounded by number of users and total cached goals; overflow evicts arbitrary entries.
+ */
+@Component
+public class GoalReadCache {
+
+    static final String CHANNEL = "goal_cache";
+
+    private record Entry(long version, List<GoalSnapshot> goals, long loadedAtMillis) {}
+
+    private final GoalRepository goalRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<UUID, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final AtomicLong cachedGoals = new AtomicLong();
+    private final int maxUsers;
+    private final long maxGoals;
+    private final long ttlMs;
+    private final boolean listenNotify;
+    private final Counter hits;
+    private final Counter misses;
+    private final DistributionSummary staleness;
+
+    public GoalReadCache(GoalRepository goalRepository,
+                         JdbcTemplate jdbcTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.goals.cache.max-users:10000}") int maxUsers,
+                         @Value("${app.goals.cache.max-goals:100000}") long maxGoals,
+                         @Value("${app.goals.cache.ttl-ms:60000}") long ttlMs,
+                         @Value("${app.goals.cache.listen-notify:#{null}}") Boolean listenNotify) {
+        this.goalRepository = goalRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxUsers = maxUsers;
+        this.maxGoals = maxGoals;
+        this.ttlMs = ttlMs;
+        this.listenNotify = listenNotify != null ? listenNotify : isPostgres(jdbcTemplate);
+        this.hits = Counter.builder("ironwill.goals.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("ironwill.goals.cache").tag("result", "miss").register(meterRegistry);
+        this.staleness = DistributionSummary.builder("ironwill.goals.cache.entry_age")
+                .description("Age of cache entries when served")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("ironwill.goals.cache.users", entries, Map::size).register(meterRegistry);
+        Gauge.builder("ironwill.goals.cache.goals", cachedGoals, AtomicLong::get).register(meterRegistry);
+    }
+
+    public List<GoalSnapshot> get(UUID userId) {
+        return getAll(List.of(userId)).getOrDefault(userId, List.of());
+    }
+
+    /**
+     * Snapshots for several users; all misses are loaded with a single query.
+     */
+    public Map<UUID, List<GoalSnapshot>> getAll(Collection<UUID> userIds) {
+        long now = System.currentTimeMillis();
+        Map<UUID, List<GoalSnapshot>> result = new HashMap<>();
+        Map<UUID, Long> missed = new HashMap<>();
+        for (UUID userId : userIds) {
+            Entry entry = entries.get(userId);
+            if (entry != null && now - entry.loadedAtMillis() < ttlMs) {
+                hits.increment();
+                staleness.record(now - entry.loadedAtMillis());
+                result.put(userId, entry.goals());
+            } else {
+                misses.increment();
+                missed.put(userId, version(userId));
+            }
+        }
+        if (missed.isEmpty()) {
+            return result;
+        }
+
+        Map<UUID, List<GoalSnapshot>> loaded = new HashMap<>();
+        missed.keySet().forEach(id -> loaded.put(id, new ArrayList<>()));
+        for (Goal goal : goalRepository.findByUserIdIn(missed.keySet())) {
+            loaded.get(goal.getUser().getId()).add(GoalSnapshot.of(goal));
+        }
+        loaded.forEach((userId, goals) -> {
+            List<GoalSnapshot> snapshot = List.copyOf(goals);
+            result.put(userId, snapshot);
+            store(userId, missed.get(userId), snapshot, now);
+        });
+        return result;
+    }
+
+    /**
+     * Call from within the transaction that changes the user's goals.
+     */
+    public void invalidate(UUID userId) {
+        if (listenNotify) {
+            // NOTIFY is transactional: other instances hear it only if and when this transaction commits
+            jdbcTemplate.query("select pg_notify(?, ?)", rs -> null, CHANNEL, userId.toString());
+        }
+        TransactionHooks.nowAndAfterCompletion(() -> invalidateLocal(userId));
+    }
+
+    /**
+     * Whether invalidations go over NOTIFY; {@link CacheInvalidationListener} listens only when they do.
+     */
+    public boolean isListenNotify() {
+        return listenNotify;
+    }
+
+    void invalidateLocal(UUID userId) {
+        versions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+        Entry removed = entries.remove(userId);
+        if (removed != null) {
+            cachedGoals.addAndGet(-removed.goals().size());
+        }
+    }
+
+    void clear() {
+        versions.values().forEach(AtomicLong::incrementAndGet);
+        entries.clear();
+        cachedGoals.set(0);
+    }
+
+    static boolean isPostgres(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con ->
+                con.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+
+    private long version(UUID userId) {
+        AtomicLong v = versions.get(userId);
+        return v == null ? 0 : v.get();
+    }
+
+    private void store(UUID userId, long version, List<GoalSnapshot> goals, long now) {
+        evictIfFull(goals.size());
+        entries.compute(userId, (id, existing) -> {
+            if (version(id) != version) {
+                return existing; // invalidated while loading
+            }
+            if (existing != null) {
+                cachedGoals.addAndGet(-existing.goals().size());
+            }
+            cachedGoals.addAndGet(goals.size());
+            return new Entry(version, goals, now);
+        });
+    }
+
+    private void evictIfFull(int incoming) {
+        Iterator<Map.Entry<UUID, Entry>> it = entries.entrySet().iterator();
+        while ((entries.size() >= maxUsers || cachedGoals.get() + incoming > maxGoals) && it.hasNext()) {
+            Map.Entry<UUID, Entry> victim = it.next();
+            it.remove();
+            cachedGoals.addAndGet(-victim.getValue().goals().size());
+        }
+    }
+}
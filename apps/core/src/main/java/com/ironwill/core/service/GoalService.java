@@ -8,27 +8,46 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class GoalService {
 
     private final GoalRepository goalRepository;
+    private final GoalReadCache goalReadCache;
 
-    @Transactional(readOnly = true)
-    public List<Goal> list(User user, GoalStatus status) {
+    /**
+     * Outcome of one batch item: the saved goal, or the reason it was skipped.
+     */
+    public record BatchItem(Goal goal, String error) {
+        public boolean ok() {
+            return error == null;
+        }
+    }
+
+    public List<GoalSnapshot> list(UUID userId, GoalStatus status) {
+        List<GoalSnapshot> goals = goalReadCache.get(userId);
         if (status != null) {
-            return goalRepository.findByUserAndStatus(user, status);
+            return goals.stream().filter(g -> g.status() == status).toList();
         }
-        return goalRepository.findByUser(user);
+        return goals;
     }
 
     @Transactional
     public Goal create(Goal goal, User user) {
         goal.setUser(user);
-        return goalRepository.save(goal);
+        Goal saved = goalRepository.save(goal);
+        goalReadCache.invalidate(user.getId());
+        return saved;
     }
 
     @Transactional
@@ -36,13 +55,98 @@ public class GoalService {
         Goal existing = goalRepository.findById(goalId)
                 .filter(g -> g.getUser().getId().equals(user.getId()))
                 .orElseThrow(() -> new IllegalArgumentException("Goal not found for user"));
+        apply(existing, updated);
+        Goal saved = goalRepository.save(existing);
+        goalReadCache.invalidate(user.getId());
+        return saved;
+    }
+
+    /**
+     * Validates every goal first, then inserts the valid ones in one transaction (JDBC-batched on flush).
+     * Invalid items are reported and skipped; they do not roll back the rest.
+     */
+    @Transactional
+    public List<BatchItem> createAll(User user, List<Goal> goals) {
+        List<BatchItem> results = new ArrayList<>(goals.size());
+        List<Goal> valid = new ArrayList<>();
+        for (Goal goal : goals) {
+            String error = validate(goal);
+            if (error == null) {
+                goal.setUser(user);
+                valid.add(goal);
+            }
+            results.add(new BatchItem(error == null ? goal : null, error));
+        }
+        if (!valid.isEmpty()) {
+            goalRepository.saveAll(valid);
+            goalReadCache.invalidate(user.getId());
+        }
+        return results;
+    }
+
+    /**
+     * Applies each update to the user's goal with the same id. Targets are loaded with one query; goals that
+     * are missing, owned by someone else or repeated in the batch fail individually.
+     */
+    @Transactional
+    public List<BatchItem> updateAll(User user, List<Goal> updates) {
+        Set<UUID> ids = updates.stream().map(Goal::getId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<UUID, Goal> owned = goalRepository.findAllById(ids).stream()
+                .filter(g -> g.getUser().getId().equals(user.getId()))
+                .collect(Collectors.toMap(Goal::getId, Function.identity()));
+
+        List<BatchItem> results = new ArrayList<>(updates.size());
+        Set<UUID> seen = new HashSet<>();
+        for (Goal updated : updates) {
+            String error = updated.getId() == null ? "id is required" : validate(updated);
+            Goal existing = owned.get(updated.getId());
+            if (error == null && existing == null) {
+                error = "Goal not found for user";
+            }
+            if (error == null && !seen.add(updated.getId())) {
+                error = "Duplicate id in batch";
+            }
+            if (error != null) {
+                results.add(new BatchItem(null, error));
+                continue;
+            }
+            apply(existing, updated);
+            results.add(new BatchItem(existing, null));
+        }
+        if (!seen.isEmpty()) {
+            goalReadCache.invalidate(user.getId());
+        }
+        return results;
+    }
+
+    private void apply(Goal existing, Goal updated) {
         existing.setTitle(updated.getTitle());
         existing.setReviewTime(updated.getReviewTime());
         existing.setFrequencyType(updated.getFrequencyType());
         existing.setCriteriaConfig(updated.getCriteriaConfig());
         existing.setStatus(updated.getStatus());
         existing.setLockedUntil(updated.getLockedUntil());
-        return goalRepository.save(existing);
     }
-}
 
+    private String validate(Goal goal) {
+        if (goal.getTitle() == null || goal.getTitle().isBlank()) {
+            return "title is required";
+        }
+        if (goal.getTitle().length() > 255) {
+            return "title is too long";
+        }
+        if (goal.getReviewTime() == null) {
+            return "reviewTime is required";
+        }
+        if (goal.getFrequencyType() == null) {
+            return "frequencyType is required";
+        }
+        if (goal.getStatus() == null) {
+            return "status is required";
+        }
+        if (goal.getCriteriaConfig() == null || !goal.getCriteriaConfig().isObject()) {
+            return "criteriaConfig must be an object";
+        }
+        return null;
+    }
+}
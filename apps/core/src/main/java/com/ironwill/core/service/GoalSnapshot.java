@@ -0,0 +1,39 @@
+package com.ironwill.core.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ironwill.core.model.FrequencyType;
+import com.ironwill.core.model.Goal;
+import com.ironwill.core.model.GoalStatus;
+
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a goal, safe to share between requests through {@link GoalReadCache}.
+ * Treat {@code criteriaConfig} as read-only.
+ */
+public record GoalSnapshot(UUID id,
+                           UUID userId,
+                           String title,
+                           LocalTime reviewTime,
+                           FrequencyType frequencyType,
+                           GoalStatus status,
+                           JsonNode criteriaConfig,
+                           OffsetDateTime lockedUntil,
+                           OffsetDateTime updatedAt) {
+
+    public static GoalSnapshot of(Goal goal) {
+        return new GoalSnapshot(
+                goal.getId(),
+                goal.getUser().getId(),
+                goal.getTitle(),
+                goal.getReviewTime(),
+                goal.getFrequencyType(),
+                goal.getStatus(),
+                goal.getCriteriaConfig() == null ? null : goal.getCriteriaConfig().deepCopy(),
+                goal.getLockedUntil(),
+                goal.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,60 @@
+package com.ironwill.core.service;
+
+import com.ironwill.core.repository.AuditLogRepository;
+import com.ironwill.core.repository.MetricPoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class MetricTrendService {
+
+    /**
+     * Parallel arrays, one slot per non-empty bucket. {@code dayOffsets} are days from the range start to the
+     * bucket start; {@code values} are bucket means and {@code samples} how many audits each mean covers.
+     */
+    public record Trend(int bucketDays, int[] dayOffsets, double[] values, int[] samples) {}
+
+    private final AuditLogRepository auditLogRepository;
+
+    /**
+     * Daily {@code primary_value} series for the goal over {@code [from, to]}. Ranges longer than {@code maxPoints}
+     * days are averaged into equal-width buckets so at most {@code maxPoints} points are returned.
+     */
+    public Trend trend(UUID goalId, LocalDate from, LocalDate to, int maxPoints) {
+        List<MetricPoint> points = auditLogRepository.findMetricPoints(goalId, from, to);
+        long spanDays = ChronoUnit.DAYS.between(from, to) + 1;
+        int bucketDays = (int) Math.max(1, (spanDays + maxPoints - 1) / maxPoints);
+
+        int[] offsets = new int[points.size()];
+        double[] values = new double[points.size()];
+        int[] samples = new int[points.size()];
+        int n = -1;
+        for (MetricPoint p : points) {
+            if (!Double.isFinite(p.value())) {
+                continue; // rows written before non-finite readings were dropped
+            }
+            int bucketStart = (int) (ChronoUnit.DAYS.between(from, p.auditDate()) / bucketDays * bucketDays);
+            if (n < 0 || offsets[n] != bucketStart) {
+                n++;
+                offsets[n] = bucketStart;
+            }
+            values[n] += p.value();
+            samples[n]++;
+        }
+        int size = n + 1;
+        for (int i = 0; i < size; i++) {
+            values[i] /= samples[i];
+        }
+        return new Trend(bucketDays,
+                Arrays.copyOf(offsets, size),
+                Arrays.copyOf(values, size),
+                Arrays.copyOf(samples, size));
+    }
+}
@@ -0,0 +1,149 @@
+package com.ironwill.core.service;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Multi-index hashing over 256-bit hashes ({@code long[4]}) for a fixed Hamming radius {@code r} of at most 15.
+ * The hash is split into 16 disjoint 16-bit chunks, and each chunk indexes every entry by its value. A hash within
+ * {@code r} bits differs in at most {@code r} chunks, so it matches exactly in at least one of any {@code r + 1}
+ * chunks; a query only compares against the entries in the {@code r + 1} smallest of its buckets. Used for the
+ * large global index, where a {@link BkTree} degrades towards a scan; per-user sets stay in BK-trees.
+ * <p>
+ * Each chunk is one dHash row, and every flat band of a screenshot hashes to 0x0000, so those buckets collect a
+ * large share of the table. Buckets that hold more than {@code 1/256} of it (and more than 4096 entries) are never
+ * probed: a query with fewer than {@code r + 1} selective chunks is nearly featureless and is matched only
+ * through the chunks it has.
+ */
+final class MultiIndexHashTable<T> {
+
+    private static final int[] EMPTY = new int[0];
+    private static final int WORDS = 4;
+    private static final int CHUNKS = 16;
+    private static final int CHUNKS_PER_WORD = CHUNKS / WORDS;
+    private static final int DEGENERATE_MIN = 4096;
+    private static final int DEGENERATE_SHIFT = 8; // 1/256 of the table
+
+    private final int radius;
+    private final int[][][] buckets = new int[CHUNKS][][]; // [chunk][chunk value] -> entry ids
+    private final int[][] bucketSizes = new int[CHUNKS][];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] hashes = new long[1024 * WORDS]; // WORDS per entry
+    private Object[] values = new Object[1024];
+    private int size;
+
+    MultiIndexHashTable(int radius) {
+        if (radius < 0 || radius > 15) {
+            throw new IllegalArgumentException("Radius must be between 0 and 15");
+        }
+        this.radius = radius;
+        for (int c = 0; c < CHUNKS; c++) {
+            buckets[c] = new int[1 << 16][];
+            Arrays.fill(buckets[c], EMPTY);
+            bucketSizes[c] = new int[1 << 16];
+        }
+    }
+
+    private static int key(long[] hash, int chunk) {
+        return (int) (hash[chunk / CHUNKS_PER_WORD] >>> (chunk % CHUNKS_PER_WORD * 16)) & 0xFFFF;
+    }
+
+    void add(long[] hash, T value) {
+        lock.writeLock().lock();
+        try {
+            if (size == values.length) {
+                hashes = Arrays.copyOf(hashes, size * 2 * WORDS);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            int id = size++;
+            System.arraycopy(hash, 0, hashes, id * WORDS, WORDS);
+            values[id] = value;
+            for (int c = 0; c < CHUNKS; c++) {
+                int key = key(hash, c);
+                int[] bucket = buckets[c][key];
+                int n = bucketSizes[c][key];
+                if (n == bucket.length) {
+                    bucket = Arrays.copyOf(bucket, Math.max(4, n * 2));
+                    buckets[c][key] = bucket;
+                }
+                bucket[n] = id;
+                bucketSizes[c][key] = n + 1;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * First value within the table's radius of {@code hash} that the filter accepts, or null.
+     */
+    @SuppressWarnings("unchecked")
+    T findWithin(long[] hash, Predicate<T> filter) {
+        lock.readLock().lock();
+        try {
+            for (int c : probes(hash)) {
+                int key = key(hash, c);
+                int[] bucket = buckets[c][key];
+                int n = bucketSizes[c][key];
+                for (int i = 0; i < n; i++) {
+                    int id = bucket[i];
+                    if (distance(id, hash) <= radius && filter.test((T) values[id])) {
+                        return (T) values[id];
+                    }
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Chunks to probe for {@code hash}: the {@code r + 1} with the smallest buckets, leaving out degenerate ones.
+     */
+    int[] probes(long[] hash) {
+        lock.readLock().lock();
+        try {
+            int limit = Math.max(DEGENERATE_MIN, size >>> DEGENERATE_SHIFT);
+            int[] chunks = new int[CHUNKS];
+            int[] sizes = new int[CHUNKS];
+            int n = 0;
+            for (int c = 0; c < CHUNKS; c++) {
+                int bucketSize = bucketSizes[c][key(hash, c)];
+                if (bucketSize > limit) {
+                    continue;
+                }
+                int i = n++;
+                while (i > 0 && sizes[i - 1] > bucketSize) {
+                    chunks[i] = chunks[i - 1];
+                    sizes[i] = sizes[i - 1];
+                    i--;
+                }
+                chunks[i] = c;
+                sizes[i] = bucketSize;
+            }
+            return Arrays.copyOf(chunks, Math.min(n, radius + 1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int distance(int id, long[] hash) {
+        int d = 0;
+        for (int w = 0; w < WORDS; w++) {
+            d += Long.bitCount(hashes[id * WORDS + w] ^ hash[w]);
+        }
+        return d;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -1,12 +1,10 @@
 package com.ironwill.core.service;
 
-import com.ironwill.core.model.AuditLog;
 import com.ironwill.core.model.Goal;
 import com.ironwill.core.model.GoalStatus;
 import com.ironwill.core.model.User;
 import com.ironwill.core.repository.AuditLogRepository;
 import com.ironwill.core.repository.GoalRepository;
-import com.ironwill.core.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,7 +16,12 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 @Component
 @EnableScheduling
@@ -27,37 +30,52 @@ public class NagScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(NagScheduler.class);
 
-    private final UserRepository userRepository;
+    private final UserBatchIterator userBatchIterator;
     private final GoalRepository goalRepository;
     private final NotificationService notificationService;
     private final AuditLogRepository auditLogRepository;
 
     @Scheduled(cron = "0 0/15 * * * *") // every 15 minutes
     public void runNag() {
-        List<User> users = userRepository.findAll();
         LocalDate today = LocalDate.now();
+        long visited = userBatchIterator.forEachPage(page -> nagPage(page, today));
+        log.info("Nag scheduler completed ({} users)", visited);
+    }
 
+    private void nagPage(List<User> users, LocalDate today) {
+        Map<UUID, LocalTime> awakeTimes = new HashMap<>();
+        List<User> awakeUsers = new ArrayList<>();
         for (User user : users) {
             ZoneId zoneId = ZoneId.of(user.getTimezone());
-            ZonedDateTime nowUser = ZonedDateTime.now(zoneId);
-            LocalTime nowTime = nowUser.toLocalTime();
+            LocalTime nowTime = ZonedDateTime.now(zoneId).toLocalTime();
             // Skip night hours (e.g., 23:00 - 06:00 local) to avoid spamming during sleep
             if (nowTime.isAfter(LocalTime.of(23, 0)) || nowTime.isBefore(LocalTime.of(6, 0))) {
                 continue;
             }
+            awakeTimes.put(user.getId(), nowTime);
+            awakeUsers.add(user);
+        }
+        if (awakeUsers.isEmpty()) {
+            return;
+        }
 
-            List<Goal> activeGoals = goalRepository.findByUserAndStatus(user, GoalStatus.ACTIVE);
-            for (Goal goal : activeGoals) {
-                // If current local time is after review_time and there's no audit for today, nag
-                if (nowTime.isAfter(goal.getReviewTime())) {
-                    boolean hasAuditToday = auditLogRepository.findByGoalAndAuditDate(goal, today).isPresent();
-                    if (!hasAuditToday) {
-                        notificationService.notify(user, "Pending audit for: " + goal.getTitle());
-                    }
-                }
+        // One query for the page's active goals, then one for today's audits. Not through GoalReadCache: a sweep
+        // over every awake user would evict the dashboard entries that cache is there for
+        List<Goal> activeGoals = goalRepository.findByUserInAndStatus(awakeUsers, GoalStatus.ACTIVE);
+        if (activeGoals.isEmpty()) {
+            return;
+        }
+        Set<UUID> auditedToday = auditLogRepository.findGoalIdsAuditedOn(
+                activeGoals.stream().map(Goal::getId).toList(), today);
+
+        Map<UUID, User> usersById = new HashMap<>();
+        awakeUsers.forEach(u -> usersById.put(u.getId(), u));
+        for (Goal goal : activeGoals) {
+            User user = usersById.get(goal.getUser().getId());
+            // If current local time is after review_time and there's no audit for today, nag
+            if (awakeTimes.get(user.getId()).isAfter(goal.getReviewTime()) && !auditedToday.contains(goal.getId())) {
+                notificationService.notify(user, "Pending audit for: " + goal.getTitle());
             }
         }
-        log.info("Nag scheduler completed");
     }
 }
-
@@ -0,0 +1,253 @@
+package com.ironwill.core.service;
+
+import com.ironwill.core.model.Notification;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory per-user fan-out of new notifications to open SSE connections.
+ * <p>
+ * Each connection gets a bounded send queue drained on a small dispatcher pool, so a slow client never
+ * blocks the publisher; a connection whose queue overflows is closed and the client resumes with
+ * {@code Last-Event-ID}. A short per-user replay ring serves those resumes. Users that never opened a
+ * stream have no ring and publishing to them is a no-op; a ring with no open connection is evicted after
+ * {@code idle-evict-ms}.
+ * <p>
+ * Event ids are {@code <epoch>-<sequence>}, the epoch being per process. A resume the ring cannot fully serve
+ * (ring evicted or overflowed, restart, or an id from another instance) gets a {@code resync} event first so
+ * the client refetches its unread list. So does a resume that missed more than half of {@code buffer-size}:
+ * that tail is not replayed, since it would leave no room for live events and overflow again.
+ */
+@Component
+public class NotificationHub {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationHub.class);
+
+    public record Event(long id, UUID notificationId, String message, OffsetDateTime createdAt) {}
+
+    private final Map<UUID, UserChannel> channels = new ConcurrentHashMap<>();
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService dispatcher;
+
+    private final long timeoutMs;
+    private final int bufferSize;
+    private final int replaySize;
+    private final long idleEvictMs;
+
+    public NotificationHub(@Value("${app.notifications.push.timeout-ms:1800000}") long timeoutMs,
+                           @Value("${app.notifications.push.buffer-size:32}") int bufferSize,
+                           @Value("${app.notifications.push.replay-size:50}") int replaySize,
+                           @Value("${app.notifications.push.dispatch-threads:2}") int dispatchThreads,
+                           @Value("${app.notifications.push.idle-evict-ms:300000}") long idleEvictMs) {
+        this.timeoutMs = timeoutMs;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.idleEvictMs = idleEvictMs;
+        AtomicInteger threadId = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, r -> {
+            Thread t = new Thread(r, "notification-push-" + threadId.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public SseEmitter subscribe(UUID userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscription sub = new Subscription(userId, emitter);
+        emitter.onCompletion(sub::close);
+        emitter.onTimeout(sub::close);
+        emitter.onError(ex -> sub.close());
+
+        // Registered inside compute so it cannot race with evictIdle removing the channel
+        channels.compute(userId, (id, existing) -> {
+            UserChannel channel = existing != null ? existing : new UserChannel(sequence.get());
+            synchronized (channel) {
+                channel.subscribers.add(sub);
+                channel.idleSince = 0;
+                if (lastEventId != null) {
+                    long last = parseSequence(lastEventId);
+                    List<Event> missed = channel.replay.stream().filter(e -> e.id() > last).toList();
+                    // A tail that fills the send buffer would overflow it and close the stream on every resume
+                    boolean replayable = missed.size() <= bufferSize / 2;
+                    if (last < channel.coveredFrom || !replayable) {
+                        // The ring cannot (or should not) fill the gap; the client refetches its unread list
+                        sub.enqueue(SseEmitter.event().name("resync").data(""));
+                    }
+                    if (replayable) {
+                        missed.forEach(e -> sub.enqueue(toSse(e)));
+                    }
+                }
+            }
+            return channel;
+        });
+        return emitter;
+    }
+
+    public void publish(UUID userId, Notification notification) {
+        UserChannel channel = channels.get(userId);
+        if (channel == null) {
+            return;
+        }
+        Event event = new Event(sequence.incrementAndGet(), notification.getId(),
+                notification.getMessage(), notification.getCreatedAt());
+        synchronized (channel) {
+            channel.replay.addLast(event);
+            while (channel.replay.size() > replaySize) {
+                channel.coveredFrom = channel.replay.removeFirst().id();
+            }
+            channel.subscribers.forEach(sub -> sub.enqueue(toSse(event)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.push.heartbeat-ms:25000}")
+    public void heartbeat() {
+        channels.values().forEach(channel ->
+                channel.subscribers.forEach(sub -> sub.enqueue(SseEmitter.event().comment("heartbeat"))));
+        evictIdle(System.currentTimeMillis());
+    }
+
+    /**
+     * Drops replay rings that have had no connection for {@code idle-evict-ms}.
+     */
+    void evictIdle(long now) {
+        channels.keySet().forEach(userId -> channels.computeIfPresent(userId, (id, channel) -> {
+            synchronized (channel) {
+                boolean idle = channel.subscribers.isEmpty() && channel.idleSince > 0
+                        && now - channel.idleSince >= idleEvictMs;
+                return idle ? null : channel;
+            }
+        }));
+    }
+
+    int channelCount() {
+        return channels.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        channels.values().forEach(channel -> channel.subscribers.forEach(Subscription::close));
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * @return the sequence encoded in an id from this process, or -1 for foreign, stale or malformed ids
+     */
+    private long parseSequence(String eventId) {
+        String prefix = epoch + "-";
+        if (!eventId.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toSse(Event event) {
+        return SseEmitter.event()
+                .id(epoch + "-" + event.id())
+                .name("notification")
+                .data(event);
+    }
+
+    private static final class UserChannel {
+        final Set<Subscription> subscribers = ConcurrentHashMap.newKeySet();
+        final Deque<Event> replay = new ArrayDeque<>();
+        // Every event for this user with a sequence above this is still in the ring
+        long coveredFrom;
+        // When the last connection closed; 0 while connected
+        long idleSince;
+
+        UserChannel(long coveredFrom) {
+            this.coveredFrom = coveredFrom;
+        }
+    }
+
+    private final class Subscription {
+        final UUID userId;
+        final SseEmitter emitter;
+        final BlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(bufferSize);
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscription(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                log.debug("Push buffer full for user {}; closing connection", userId);
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (!closed.get() && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            UserChannel channel = channels.get(userId);
+            if (channel != null) {
+                synchronized (channel) {
+                    channel.subscribers.remove(this);
+                    if (channel.subscribers.isEmpty()) {
+                        channel.idleSince = System.currentTimeMillis();
+                    }
+                }
+            }
+            queue.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.ironwill.core.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Housekeeping for the notifications table.
+ * <ul>
+ *   <li>When the table is range-partitioned by month (see {@code db/notifications_partitioning.sql}), creates
+ *   upcoming partitions and drops or archives whole partitions older than {@code max-age-months}. This
+ *   replaces large DELETEs.</li>
+ *   <li>Deletes read notifications older than {@code read-compaction-days} in small batches.</li>
+ * </ul>
+ * Partition handling is Postgres only and skipped on other databases; disabled by default.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionJob.class);
+    private static final Pattern PARTITION_NAME = Pattern.compile("notifications_y(\\d{4})m(\\d{2})");
+
+    public record RetentionReport(int droppedPartitions, long droppedRows, long reclaimedBytes, long compactedRows) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.notifications.retention.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.notifications.retention.max-age-months:6}")
+    private int maxAgeMonths;
+
+    @Value("${app.notifications.retention.read-compaction-days:30}")
+    private int readCompactionDays;
+
+    @Value("${app.notifications.retention.premake-months:2}")
+    private int premakeMonths;
+
+    @Value("${app.notifications.retention.archive-schema:}")
+    private String archiveSchema; // blank = drop expired partitions instead of archiving
+
+    @Value("${app.notifications.retention.batch-size:5000}")
+    private int batchSize;
+
+    @Scheduled(cron = "${app.notifications.retention.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    public RetentionReport run() {
+        int droppedPartitions = 0;
+        long droppedRows = 0;
+        long reclaimedBytes = 0;
+
+        if (isPartitioned()) {
+            YearMonth current = YearMonth.now();
+            for (int i = 0; i <= premakeMonths; i++) {
+                createPartition(current.plusMonths(i));
+            }
+            YearMonth oldestKept = current.minusMonths(maxAgeMonths);
+            for (String partition : listPartitions()) {
+                Matcher m = PARTITION_NAME.matcher(partition);
+                if (!m.matches()) {
+                    continue; // default partition or foreign table
+                }
+                YearMonth month = YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)));
+                if (month.isBefore(oldestKept)) {
+                    droppedRows += count(partition);
+                    reclaimedBytes += relationSize(partition);
+                    expirePartition(partition);
+                    droppedPartitions++;
+                }
+            }
+        }
+
+        long compactedRows = compactRead(OffsetDateTime.now().minusDays(readCompactionDays));
+        RetentionReport report = new RetentionReport(droppedPartitions, droppedRows, reclaimedBytes, compactedRows);
+        log.info("Notification retention completed: {}", report);
+        return report;
+    }
+
+    private boolean isPartitioned() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con ->
+                con.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            return false;
+        }
+        List<String> kinds = jdbcTemplate.queryForList(
+                "select c.relkind::text from pg_class c where c.oid = to_regclass('notifications')", String.class);
+        return !kinds.isEmpty() && "p".equals(kinds.get(0));
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList(
+                "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid " +
+                        "where i.inhparent = 'notifications'::regclass", String.class);
+    }
+
+    private void createPartition(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        String name = String.format("notifications_y%04dm%02d", month.getYear(), month.getMonthValue());
+        try {
+            jdbcTemplate.execute(String.format(
+                    "create table if not exists %s partition of notifications for values from ('%s') to ('%s')",
+                    name, from, to));
+        } catch (RuntimeException e) {
+            // Typically rows for that month already sit in the default partition
+            log.warn("Could not create notification partition {}: {}", name, e.getMessage());
+        }
+    }
+
+    private void expirePartition(String partition) {
+        jdbcTemplate.execute("alter table notifications detach partition " + partition);
+        if (archiveSchema == null || archiveSchema.isBlank()) {
+            jdbcTemplate.execute("drop table " + partition);
+        } else {
+            jdbcTemplate.execute("create schema if not exists " + archiveSchema);
+            jdbcTemplate.execute("alter table " + partition + " set schema " + archiveSchema);
+        }
+    }
+
+    private long count(String partition) {
+        Long rows = jdbcTemplate.queryForObject("select count(*) from " + partition, Long.class);
+        return rows == null ? 0 : rows;
+    }
+
+    private long relationSize(String partition) {
+        Long bytes = jdbcTemplate.queryForObject("select pg_total_relation_size(?::regclass)", Long.class, partition);
+        return bytes == null ? 0 : bytes;
+    }
+
+    // Small batches keep lock times and WAL bursts short; already-expired months are handled by partition drops
+    private long compactRead(OffsetDateTime cutoff) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(
+                    "delete from notifications where id in (" +
+                            "select id from notifications where is_read = true and created_at < ? limit ?)",
+                    cutoff, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+}
@@ -3,22 +3,71 @@ package com.ironwill.core.service;
 import com.ironwill.core.model.Notification;
 import com.ironwill.core.model.User;
 import com.ironwill.core.repository.NotificationRepository;
+import com.ironwill.core.repository.UnreadState;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final NotificationHub notificationHub;
+    private final UnreadCountCache unreadCountCache;
 
     @Transactional
     public void notify(User user, String message) {
         Notification n = new Notification();
         n.setUser(user);
         n.setMessage(message);
-        notificationRepository.save(n);
+        Notification saved = notificationRepository.saveAndFlush(n);
+        unreadCountCache.changed(user.getId());
+        TransactionHooks.afterCommit(() -> notificationHub.publish(user.getId(), saved));
+    }
+
+    @Transactional
+    public void markRead(UUID userId, UUID notificationId) {
+        if (notificationRepository.markRead(userId, notificationId) == 0) {
+            throw new IllegalArgumentException("Notification not found");
+        }
+        unreadCountCache.changed(userId);
+    }
+
+    /**
+     * Marks the user's unread notifications as read, all of them or only those created at or before {@code upTo}.
+     *
+     * @return number of notifications flipped to read
+     */
+    @Transactional
+    public int markAllRead(UUID userId, OffsetDateTime upTo) {
+        int updated = upTo == null
+                ? notificationRepository.markAllRead(userId)
+                : notificationRepository.markReadUpTo(userId, upTo);
+        if (updated > 0) {
+            unreadCountCache.changed(userId);
+        }
+        return updated;
+    }
+
+    public long unreadCount(UUID userId) {
+        return unreadCountCache.get(userId);
     }
-}
 
+    /**
+     * ETag of the user's unread list: unread count and newest unread {@code created_at}, so every instance
+     * derives the same tag from the same rows. Served from {@link UnreadCountCache}; only a miss queries.
+     */
+    public String unreadEtag(UUID userId) {
+        UnreadState state = unreadCountCache.state(userId);
+        long newest = state.newest() == null
+                ? 0
+                : ChronoUnit.MICROS.between(Instant.EPOCH, state.newest().toInstant());
+        return "\"" + state.count() + "-" + Long.toString(newest, 36) + "\"";
+    }
+}
@@ -0,0 +1,304 @@
+package com.ironwill.core.service;
+
+import com.ironwill.core.model.Goal;
+import com.ironwill.core.model.ProofHash;
+import com.ironwill.core.model.User;
+import com.ironwill.core.repository.ProofHashRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Near-duplicate detection for proof images. Each accepted proof gets a 256-bit dHash, stored in
+ * {@code proof_hashes} and held in memory in one {@link BkTree} per user plus a global
+ * {@link MultiIndexHashTable}. A new proof within {@code max-distance} bits of an earlier one, from any goal or
+ * day other than its own, is either passed to the agent as a flag or rejected outright ({@code action}).
+ * <p>
+ * The indexes are rebuilt from the table on startup and pick up rows written by other instances on each sync.
+ */
+@Component
+public class ProofHashIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProofHashIndex.class);
+    // Overlap between syncs so rows committed slightly out of order are not skipped
+    private static final long SYNC_OVERLAP_SECONDS = 30;
+    private static final int GRID = 16; // 16 rows of 16 bits
+    private static final int HASH_LONGS = GRID * GRID / 64;
+    // Decoding is subsampled towards this shorter side; much smaller and point sampling aliases text
+    private static final int WORKING_SIZE = 384;
+    private static final long MAX_DECODED_PIXELS = 4_000_000;
+    // Neighbouring cells closer than this (in luminance levels) count as equal, so flat areas do not flip on noise
+    private static final double FLAT = 2.0;
+
+    public enum Action { FLAG, REJECT }
+
+    public record Entry(UUID userId, UUID goalId, LocalDate auditDate) {}
+
+    /**
+     * {@code hash} is null when the image could not be decoded; {@code duplicate} is the earlier proof it matches.
+     */
+    public record Check(long[] hash, Entry duplicate, boolean rejected) {
+        public static final Check NONE = new Check(null, null, false);
+    }
+
+    private final ProofHashRepository proofHashRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTx;
+    private final MeterRegistry meterRegistry;
+    private final Timer lookupTimer;
+    private final Map<UUID, BkTree<Entry>> byUser = new ConcurrentHashMap<>();
+    private final MultiIndexHashTable<Entry> global;
+    private final Map<UUID, Long> recentIds = new ConcurrentHashMap<>(); // row id -> created millis, for sync
+    private final AtomicLong indexed = new AtomicLong();
+    private volatile OffsetDateTime lastSync;
+
+    private final boolean enabled;
+    private final int maxDistance;
+    private final Action action;
+    private final boolean checkGlobal;
+    private final long maxPixels;
+
+    public ProofHashIndex(ProofHashRepository proofHashRepository,
+                          JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.proof.dedupe.enabled:true}") boolean enabled,
+                          @Value("${app.proof.dedupe.max-distance:3}") int maxDistance,
+                          @Value("${app.proof.dedupe.action:FLAG}") Action action,
+                          @Value("${app.proof.dedupe.global:true}") boolean checkGlobal,
+                          @Value("${app.proof.dedupe.max-pixels:50000000}") long maxPixels) {
+        this.enabled = enabled;
+        this.maxDistance = maxDistance;
+        this.action = action;
+        this.checkGlobal = checkGlobal;
+        this.maxPixels = maxPixels;
+        this.global = new MultiIndexHashTable<>(maxDistance);
+        this.proofHashRepository = proofHashRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTx = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTx.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.lookupTimer = Timer.builder("ironwill.audit.proof_hash.lookup").register(meterRegistry);
+        Gauge.builder("ironwill.audit.proof_hash.indexed", indexed, AtomicLong::get).register(meterRegistry);
+    }
+
+    public Check check(UUID userId, UUID goalId, LocalDate auditDate, MultipartFile file) throws IOException {
+        if (!enabled) {
+            return Check.NONE;
+        }
+        long[] hash = dHash(file, maxPixels);
+        if (hash == null) {
+            return Check.NONE;
+        }
+        Entry duplicate = lookupTimer.record(() -> findNearDuplicate(userId, goalId, auditDate, hash));
+        if (duplicate == null) {
+            return new Check(hash, null, false);
+        }
+        String scope = duplicate.userId().equals(userId) ? "user" : "global";
+        meterRegistry.counter("ironwill.audit.proof_hash.duplicate", "scope", scope, "action", action.name())
+                .increment();
+        return new Check(hash, duplicate, action == Action.REJECT);
+    }
+
+    /**
+     * Persists the hash with the audit; it becomes searchable once the transaction commits.
+     */
+    public void record(User user, Goal goal, LocalDate auditDate, long[] hash) {
+        ProofHash row = new ProofHash();
+        row.setUser(user);
+        row.setGoal(goal);
+        row.setAuditDate(auditDate);
+        row.setHash(toBytes(hash));
+        proofHashRepository.save(row);
+        UUID id = row.getId();
+        Entry entry = new Entry(user.getId(), goal.getId(), auditDate);
+        TransactionHooks.afterCommit(() -> {
+            recentIds.put(id, System.currentTimeMillis());
+            add(hash, entry);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        OffsetDateTime started = OffsetDateTime.now();
+        OffsetDateTime syncWindow = started.minusSeconds(2 * SYNC_OVERLAP_SECONDS);
+        long nowMillis = System.currentTimeMillis();
+        // Streamed with a fetch size so millions of rows never sit in memory as entities
+        readOnlyTx.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "select id, hash, user_id, goal_id, audit_date, created_at from proof_hashes");
+            ps.setFetchSize(10_000);
+            return ps;
+        }, rs -> {
+            add(fromBytes(rs.getBytes(2)), new Entry(rs.getObject(3, UUID.class), rs.getObject(4, UUID.class),
+                    rs.getObject(5, LocalDate.class)));
+            OffsetDateTime created = rs.getObject(6, OffsetDateTime.class);
+            if (created != null && created.isAfter(syncWindow)) {
+                recentIds.put(rs.getObject(1, UUID.class), nowMillis); // so the first sync does not add it again
+            }
+        }));
+        lastSync = started;
+        log.info("Proof hash index rebuilt with {} entries in {} ms", indexed.get(),
+                Duration.between(started, OffsetDateTime.now()).toMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${app.proof.dedupe.sync-ms:30000}")
+    public void sync() {
+        if (!enabled || lastSync == null) {
+            return; // initial rebuild not done yet
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        for (ProofHash row : proofHashRepository.findByCreatedAtAfter(lastSync.minusSeconds(SYNC_OVERLAP_SECONDS))) {
+            if (recentIds.putIfAbsent(row.getId(), System.currentTimeMillis()) == null) {
+                add(fromBytes(row.getHash()), new Entry(row.getUser().getId(), row.getGoal().getId(), row.getAuditDate()));
+            }
+        }
+        lastSync = now;
+        long cutoff = System.currentTimeMillis() - 4 * SYNC_OVERLAP_SECONDS * 1000;
+        recentIds.values().removeIf(t -> t < cutoff);
+    }
+
+    private Entry findNearDuplicate(UUID userId, UUID goalId, LocalDate auditDate, long[] hash) {
+        // The same goal's audit for the same day is a resubmission, not a reuse
+        BkTree<Entry> own = byUser.get(userId);
+        Entry match = own == null ? null : own.findWithin(hash, maxDistance,
+                e -> !(e.goalId().equals(goalId) && e.auditDate().equals(auditDate)));
+        if (match == null && checkGlobal) {
+            match = global.findWithin(hash, e -> !e.userId().equals(userId));
+        }
+        return match;
+    }
+
+    private void add(long[] hash, Entry entry) {
+        byUser.computeIfAbsent(entry.userId(), id -> new BkTree<>()).add(hash, entry);
+        if (checkGlobal) {
+            global.add(hash, entry);
+        }
+        indexed.incrementAndGet();
+    }
+
+    /**
+     * Difference hash: average luminance over a 17x16 grid, one bit per horizontally adjacent pair that gets
+     * brighter, packed row by row into four longs. Survives rescaling and recompression. Returns null for images
+     * ImageIO cannot decode or with more than {@code maxPixels} pixels; larger images are decoded subsampled, so
+     * the heap used stays bounded whatever the upload declares.
+     */
+    static long[] dHash(MultipartFile file, long maxPixels) throws IOException {
+        BufferedImage image;
+        try (InputStream in = file.getInputStream(); ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            image = stream == null ? null : readBounded(stream, maxPixels);
+        } catch (IOException | RuntimeException e) {
+            // ImageIO reports some corrupt files with unchecked exceptions
+            return null;
+        }
+        if (image == null || image.getWidth() < GRID + 1 || image.getHeight() < GRID) {
+            return null;
+        }
+        double[][] cells = new double[GRID][GRID + 1];
+        int w = image.getWidth();
+        int h = image.getHeight();
+        for (int cy = 0; cy < GRID; cy++) {
+            int y0 = cy * h / GRID;
+            int y1 = (cy + 1) * h / GRID;
+            for (int cx = 0; cx <= GRID; cx++) {
+                int x0 = cx * w / (GRID + 1);
+                int x1 = (cx + 1) * w / (GRID + 1);
+                double sum = 0;
+                for (int y = y0; y < y1; y++) {
+                    for (int x = x0; x < x1; x++) {
+                        int rgb = image.getRGB(x, y);
+                        sum += 0.299 * (rgb >> 16 & 0xFF) + 0.587 * (rgb >> 8 & 0xFF) + 0.114 * (rgb & 0xFF);
+                    }
+                }
+                cells[cy][cx] = sum / ((y1 - y0) * (x1 - x0));
+            }
+        }
+        long[] hash = new long[HASH_LONGS];
+        for (int y = 0; y < GRID; y++) {
+            for (int x = 0; x < GRID; x++) {
+                int bit = y * GRID + x;
+                if (cells[y][x + 1] - cells[y][x] > FLAT) {
+                    hash[bit / 64] |= 1L << (63 - bit % 64);
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Reads the dimensions first, then decodes every n-th pixel so the shorter side stays near
+     * {@link #WORKING_SIZE} and the result under {@link #MAX_DECODED_PIXELS}.
+     */
+    private static BufferedImage readBounded(ImageInputStream stream, long maxPixels) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(stream, true, true);
+            long w = reader.getWidth(0);
+            long h = reader.getHeight(0);
+            if (w <= 0 || h <= 0 || w * h > maxPixels) {
+                return null;
+            }
+            int step = (int) Math.max(Math.min(w, h) / WORKING_SIZE,
+                    (long) Math.ceil(Math.sqrt((double) (w * h) / MAX_DECODED_PIXELS)));
+            ImageReadParam param = reader.getDefaultReadParam();
+            if (step > 1) {
+                param.setSourceSubsampling(step, step, 0, 0);
+            }
+            return reader.read(0, param);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    static byte[] toBytes(long[] hash) {
+        ByteBuffer buf = ByteBuffer.allocate(HASH_LONGS * Long.BYTES);
+        for (long word : hash) {
+            buf.putLong(word);
+        }
+        return buf.array();
+    }
+
+    static long[] fromBytes(byte[] bytes) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        long[] hash = new long[HASH_LONGS];
+        for (int i = 0; i < HASH_LONGS; i++) {
+            hash[i] = buf.getLong();
+        }
+        return hash;
+    }
+}
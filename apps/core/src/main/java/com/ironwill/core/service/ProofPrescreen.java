@@ -0,0 +1,281 @@
+package com.ironwill.core.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Cheap checks on an uploaded proof before it is stored and sent to the agent. Only the first
+ * {@code header-bytes} of the file are read; nothing is decoded.
+ * <p>
+ * Rejects when the magic bytes contradict the declared type, the image is smaller than {@code min-dimension},
+ * it compresses so well it is almost certainly blank, or its EXIF capture time is older than
+ * {@code max-exif-age-hours}. Anything that cannot be read is passed on to the agent.
+ */
+@Component
+public class ProofPrescreen {
+
+    public record Result(boolean rejected, String reason) {
+        static final Result PASS = new Result(false, null);
+
+        static Result reject(String reason) {
+            return new Result(true, reason);
+        }
+    }
+
+    private static final byte[] PNG_MAGIC = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+    private static final DateTimeFormatter EXIF_TIME = DateTimeFormatter.ofPattern("yyyy:MM:dd HH:mm:ss");
+    private static final int TAG_EXIF_IFD = 0x8769;
+    private static final int TAG_DATE_TIME_ORIGINAL = 0x9003;
+    private static final int TAG_DATE_TIME = 0x0132;
+
+    private final boolean enabled;
+    private final int headerBytes;
+    private final int minDimension;
+    private final double minBytesPerPixel;
+    private final Duration maxExifAge;
+    private final Timer timer;
+    private final MeterRegistry meterRegistry;
+
+    public ProofPrescreen(MeterRegistry meterRegistry,
+                          @Value("${app.proof.prescreen.enabled:true}") boolean enabled,
+                          @Value("${app.proof.prescreen.header-bytes:65536}") int headerBytes,
+                          @Value("${app.proof.prescreen.min-dimension:200}") int minDimension,
+                          @Value("${app.proof.prescreen.min-bytes-per-pixel:0.005}") double minBytesPerPixel,
+                          @Value("${app.proof.prescreen.max-exif-age-hours:48}") long maxExifAgeHours) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.headerBytes = headerBytes;
+        this.minDimension = minDimension;
+        this.minBytesPerPixel = minBytesPerPixel;
+        this.maxExifAge = Duration.ofHours(maxExifAgeHours);
+        this.timer = Timer.builder("ironwill.audit.prescreen")
+                .description("Local proof pre-screen latency")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param zone the user's timezone, used to read EXIF local times
+     */
+    public Result screen(MultipartFile file, ZoneId zone) throws IOException {
+        if (!enabled) {
+            return Result.PASS;
+        }
+        long start = System.nanoTime();
+        Result result;
+        try (InputStream in = file.getInputStream()) {
+            result = screen(in.readNBytes(headerBytes), file.getContentType(), file.getSize(), zone);
+        }
+        timer.record(Duration.ofNanos(System.nanoTime() - start));
+        // rejected / total is the share of agent calls avoided
+        meterRegistry.counter("ironwill.audit.prescreen.result",
+                "result", result.rejected() ? "rejected" : "passed").increment();
+        return result;
+    }
+
+    private Result screen(byte[] head, String contentType, long size, ZoneId zone) {
+        boolean jpeg = MimeTypeUtils.IMAGE_JPEG_VALUE.equals(contentType);
+        if (jpeg ? !isJpeg(head) : !startsWith(head, PNG_MAGIC)) {
+            return Result.reject("File content does not match its type.");
+        }
+        ImageHeader header = jpeg ? readJpeg(head) : readPng(head);
+        if (header.width() > 0 && header.height() > 0) {
+            if (header.width() < minDimension || header.height() < minDimension) {
+                return Result.reject("Image is too small to verify.");
+            }
+            if ((double) size / ((long) header.width() * header.height()) < minBytesPerPixel) {
+                return Result.reject("Image appears to be blank.");
+            }
+        }
+        if (header.captured() != null) {
+            ZonedDateTime captured = header.captured().atZone(zone);
+            if (captured.isBefore(ZonedDateTime.now(zone).minus(maxExifAge))) {
+                return Result.reject("Photo was taken too long ago.");
+            }
+        }
+        return Result.PASS;
+    }
+
+    private record ImageHeader(int width, int height, LocalDateTime captured) {}
+
+    private static boolean isJpeg(byte[] b) {
+        return b.length >= 3 && (b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xD8 && (b[2] & 0xFF) == 0xFF;
+    }
+
+    private static boolean startsWith(byte[] b, byte[] prefix) {
+        if (b.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (b[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ImageHeader readPng(byte[] b) {
+        // signature(8) + IHDR length(4) + "IHDR"(4) + width(4) + height(4)
+        if (b.length < 24 || b[12] != 'I' || b[13] != 'H' || b[14] != 'D' || b[15] != 'R') {
+            return new ImageHeader(0, 0, null);
+        }
+        return new ImageHeader(be32(b, 16), be32(b, 20), null);
+    }
+
+    /**
+     * Walks JPEG marker segments up to the first SOFn, picking up the APP1 Exif segment on the way.
+     */
+    private static ImageHeader readJpeg(byte[] b) {
+        LocalDateTime captured = null;
+        int pos = 2;
+        while (pos + 4 <= b.length) {
+            if ((b[pos] & 0xFF) != 0xFF) {
+                break;
+            }
+            int marker = b[pos + 1] & 0xFF;
+            if (marker == 0xFF) {
+                pos++; // fill byte
+                continue;
+            }
+            int length = be16(b, pos + 2);
+            int body = pos + 4;
+            if (marker == 0xE1 && captured == null && body + 6 <= b.length
+                    && new String(b, body, 4, StandardCharsets.US_ASCII).equals("Exif")) {
+                captured = readExifTime(b, body + 6, Math.min(b.length, pos + 2 + length));
+            }
+            boolean sof = marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+            if (sof && body + 5 <= b.length) {
+                return new ImageHeader(be16(b, body + 3), be16(b, body + 1), captured);
+            }
+            if (marker == 0xDA || length < 2) {
+                break; // start of scan: no SOF before image data
+            }
+            pos += 2 + length;
+        }
+        return new ImageHeader(0, 0, captured);
+    }
+
+    /**
+     * DateTimeOriginal from the Exif sub-IFD, falling back to IFD0 DateTime. {@code tiff} is the TIFF header
+     * offset; all IFD offsets are relative to it.
+     */
+    private static LocalDateTime readExifTime(byte[] b, int tiff, int end) {
+        if (tiff + 8 > end) {
+            return null;
+        }
+        boolean little = b[tiff] == 'I' && b[tiff + 1] == 'I';
+        if (!little && !(b[tiff] == 'M' && b[tiff + 1] == 'M')) {
+            return null;
+        }
+        Tiff t = new Tiff(b, tiff, end, little);
+        int ifd0 = t.u32(4);
+        String original = null;
+        int exifIfd = t.findTag(ifd0, TAG_EXIF_IFD);
+        if (exifIfd >= 0) {
+            int dto = t.findTag(t.u32(exifIfd + 8), TAG_DATE_TIME_ORIGINAL);
+            original = dto >= 0 ? t.asciiValue(dto) : null;
+        }
+        if (original == null) {
+            int dt = t.findTag(ifd0, TAG_DATE_TIME);
+            original = dt >= 0 ? t.asciiValue(dt) : null;
+        }
+        if (original == null || original.length() < 19) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(original.substring(0, 19), EXIF_TIME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Bounds-checked reads relative to the TIFF header. Offsets and counts come from the file, so every check is
+     * written as {@code off > end - base - n} to stay clear of int overflow on hostile values.
+     */
+    private record Tiff(byte[] b, int base, int end, boolean little) {
+
+        private boolean fits(int off, int n) {
+            return off >= 0 && n >= 0 && off <= end - base - n;
+        }
+
+        int u16(int off) {
+            if (!fits(off, 2)) {
+                return -1;
+            }
+            int p = base + off;
+            return little ? (b[p] & 0xFF) | (b[p + 1] & 0xFF) << 8 : be16(b, p);
+        }
+
+        /** 32-bit value, or -1 when out of range. Values above {@code Integer.MAX_VALUE} come back negative too. */
+        int u32(int off) {
+            if (!fits(off, 4)) {
+                return -1;
+            }
+            int p = base + off;
+            return little
+                    ? (b[p] & 0xFF) | (b[p + 1] & 0xFF) << 8 | (b[p + 2] & 0xFF) << 16 | (b[p + 3] & 0xFF) << 24
+                    : be32(b, p);
+        }
+
+        /** Offset (relative to base) of the 12-byte IFD entry with the given tag, or -1. */
+        int findTag(int ifd, int tag) {
+            int count = u16(ifd);
+            for (int i = 0; i < count; i++) {
+                if (!fits(ifd, 2 + (i + 1) * 12)) {
+                    return -1;
+                }
+                int entry = ifd + 2 + i * 12;
+                int t = u16(entry);
+                if (t < 0) {
+                    return -1;
+                }
+                if (t == tag) {
+                    return entry;
+                }
+            }
+            return -1;
+        }
+
+        String asciiValue(int entry) {
+            int count = u32(entry + 4);
+            // values of 4 bytes or less are stored inline
+            int off = count <= 4 ? entry + 8 : u32(entry + 8);
+            return ascii(off, count);
+        }
+
+        String ascii(int off, int count) {
+            if (count <= 0 || !fits(off, count)) {
+                return null;
+            }
+            return new String(b, base + off, count, StandardCharsets.US_ASCII).trim();
+        }
+    }
+
+    private static int be16(byte[] b, int p) {
+        if (p + 2 > b.length) {
+            return 0;
+        }
+        return (b[p] & 0xFF) << 8 | (b[p + 1] & 0xFF);
+    }
+
+    private static int be32(byte[] b, int p) {
+        if (p + 4 > b.length) {
+            return 0;
+        }
+        return (b[p] & 0xFF) << 24 | (b[p + 1] & 0xFF) << 16 | (b[p + 2] & 0xFF) << 8 | (b[p + 3] & 0xFF);
+    }
+}
@@ -0,0 +1,65 @@
+package com.ironwill.core.service;
+
+import com.ironwill.core.model.Role;
+import com.ironwill.core.model.RoleType;
+import com.ironwill.core.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * All {@link Role} rows, loaded once at startup. Roles are a fixed enum-backed set, so login and seeding
+ * paths read them from here instead of querying. Missing roles are created on startup; a concurrent
+ * instance inserting the same role first is tolerated.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleRegistry implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleRegistry.class);
+
+    private final RoleRepository roleRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Map<RoleType, Role> roles = Map.of();
+
+    @Override
+    public void afterPropertiesSet() {
+        for (RoleType type : RoleType.values()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (roleRepository.findByName(type).isEmpty()) {
+                        Role r = new Role();
+                        r.setName(type);
+                        roleRepository.save(r);
+                        log.info("Created missing role {}", type);
+                    }
+                });
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Role {} created concurrently by another instance", type);
+            }
+        }
+        Map<RoleType, Role> loaded = new EnumMap<>(RoleType.class);
+        roleRepository.findAll().forEach(r -> loaded.put(r.getName(), r));
+        roles = Collections.unmodifiableMap(loaded);
+    }
+
+    /**
+     * Detached role entity; safe to reference from a new user's role set.
+     */
+    public Role get(RoleType type) {
+        Role role = roles.get(type);
+        if (role == null) {
+            throw new IllegalStateException("Role not loaded: " + type);
+        }
+        return role;
+    }
+}
@@ -19,6 +19,8 @@ public class ScoreService {
 
     private final UserRepository userRepository;
     private final GoalRepository goalRepository;
+    private final GoalReadCache goalReadCache;
+    private final DailyRollupService dailyRollupService;
 
     private static final BigDecimal PASS_DELTA = BigDecimal.valueOf(0.5);
     private static final BigDecimal FAIL_DELTA = BigDecimal.valueOf(-0.2);
@@ -56,6 +58,10 @@ public class ScoreService {
             g.setLockedUntil(lockUntil);
         });
         goalRepository.saveAll(goals);
+        if (!goals.isEmpty()) {
+            goalReadCache.invalidate(user.getId());
+            dailyRollupService.recordLockout(user.getId());
+        }
     }
 
     public BigDecimal getLockThreshold() {
@@ -0,0 +1,195 @@
+package com.ironwill.core.service;
+
+import com.ironwill.core.model.FrequencyType;
+import com.ironwill.core.model.GoalStreak;
+import com.ironwill.core.repository.GoalStreakRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Batch side of the streak engine:
+ * <ul>
+ *   <li>{@link #settleMissed()} zeroes runs whose goal skipped its previous expected day (daily).</li>
+ *   <li>{@link #rebuild()} recomputes every streak from VERIFIED audits and drops rows with no history.</li>
+ *   <li>{@link #check()} recomputes the same way and compares with the stored rows, repairing mismatches and
+ *   removing rows with no history when {@code app.streaks.check.repair} is on (nightly).</li>
+ * </ul>
+ * History is streamed once, ordered by goal and date, and folded goal by goal, so memory is bounded by the
+ * write batch size.
+ */
+@Component
+public class StreakMaintenanceJob {
+
+    private static final Logger log = LoggerFactory.getLogger(StreakMaintenanceJob.class);
+    private static final String HISTORY_SQL =
+            "select a.goal_id, g.frequency_type, a.audit_date from audit_logs a join goals g on g.id = a.goal_id " +
+            "where a.status = 'VERIFIED' order by a.goal_id, a.audit_date";
+
+    public record Report(long goals, long mismatches, long removed) {}
+
+    private record Computed(GoalStreak streak, FrequencyType frequency) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GoalStreakRepository goalStreakRepository;
+    private final TransactionTemplate readTx;
+    private final TransactionTemplate writeTx;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final boolean repair;
+
+    public StreakMaintenanceJob(JdbcTemplate jdbcTemplate,
+                                GoalStreakRepository goalStreakRepository,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.streaks.batch-size:500}") int batchSize,
+                                @Value("${app.streaks.check.repair:true}") boolean repair) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.goalStreakRepository = goalStreakRepository;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+        // Batches commit on their own while the history cursor stays open
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.writeTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.repair = repair;
+    }
+
+    @Scheduled(cron = "${app.streaks.settle-cron:0 5 0 * * *}")
+    public void settleMissed() {
+        LocalDate today = LocalDate.now();
+        OffsetDateTime now = OffsetDateTime.now();
+        int settled = 0;
+        for (FrequencyType frequency : FrequencyType.values()) {
+            LocalDate cutoff = StreakService.previousExpected(frequency, today);
+            settled += Objects.requireNonNullElse(writeTx.execute(
+                    status -> goalStreakRepository.settleMissed(frequency, cutoff, now)), 0);
+        }
+        log.info("Streak settle: {} runs ended", settled);
+    }
+
+    public Report rebuild() {
+        OffsetDateTime started = OffsetDateTime.now();
+        long[] goals = {0};
+        fold(batch -> {
+            List<GoalStreak> rows = batch.stream().map(Computed::streak).toList();
+            writeTx.executeWithoutResult(status -> goalStreakRepository.saveAll(rows));
+            goals[0] += rows.size();
+        });
+        // Rows not rewritten above belong to goals without any VERIFIED audit left
+        Integer removed = writeTx.execute(status -> goalStreakRepository.deleteUpdatedBefore(started));
+        Report report = new Report(goals[0], 0, removed == null ? 0 : removed);
+        log.info("Streak rebuild completed: {}", report);
+        return report;
+    }
+
+    @Scheduled(cron = "${app.streaks.check-cron:0 15 4 * * *}")
+    public Report check() {
+        LocalDate today = LocalDate.now();
+        OffsetDateTime started = OffsetDateTime.now();
+        long[] counts = {0, 0};
+        fold(batch -> {
+            counts[0] += batch.size();
+            // Own transaction (and persistence context) per batch, so loaded rows do not pile up
+            counts[1] += Objects.requireNonNullElse(writeTx.execute(status -> {
+                Map<UUID, GoalStreak> stored = goalStreakRepository.findAllById(
+                        batch.stream().map(c -> c.streak().getGoalId()).toList()).stream()
+                        .collect(Collectors.toMap(GoalStreak::getGoalId, Function.identity()));
+                List<GoalStreak> fixes = new ArrayList<>();
+                for (Computed expected : batch) {
+                    GoalStreak actual = stored.get(expected.streak().getGoalId());
+                    if (actual != null && actual.getUpdatedAt().isAfter(started)) {
+                        continue; // a verdict landed after the history snapshot
+                    }
+                    if (actual == null || !matches(expected, actual, today)) {
+                        fixes.add(expected.streak());
+                    }
+                }
+                if (repair) {
+                    goalStreakRepository.saveAll(fixes);
+                }
+                return fixes.size();
+            }), 0);
+        });
+        // The fold never visits goals without VERIFIED audits, so their stored rows are reconciled here
+        long orphans = Objects.requireNonNullElse(writeTx.execute(status -> repair
+                ? (long) goalStreakRepository.deleteWithoutHistory(started)
+                : goalStreakRepository.countWithoutHistory(started)), 0L);
+        counts[1] += orphans;
+        meterRegistry.counter("ironwill.streaks.check.mismatches").increment(counts[1]);
+        Report report = new Report(counts[0], counts[1], repair ? orphans : 0);
+        if (counts[1] > 0) {
+            log.warn("Streak check found {} of {} goals out of sync (repair={})", counts[1], counts[0], repair);
+        } else {
+            log.info("Streak check: {} goals consistent", counts[0]);
+        }
+        return report;
+    }
+
+    private static boolean matches(Computed expected, GoalStreak actual, LocalDate today) {
+        GoalStreak e = expected.streak();
+        return e.getLongestStreak() == actual.getLongestStreak()
+                && Objects.equals(e.getLastVerifiedDate(), actual.getLastVerifiedDate())
+                && StreakService.effectiveCurrent(e, expected.frequency(), today)
+                == StreakService.effectiveCurrent(actual, expected.frequency(), today);
+    }
+
+    /**
+     * Streams VERIFIED history once and hands recomputed streaks to {@code sink} in batches.
+     */
+    private void fold(Consumer<List<Computed>> sink) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Computed> batch = new ArrayList<>(batchSize);
+        Computed[] current = {null};
+        readTx.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(HISTORY_SQL);
+            ps.setFetchSize(1000);
+            return ps;
+        }, rs -> {
+            UUID goalId = rs.getObject(1, UUID.class);
+            if (current[0] == null || !current[0].streak().getGoalId().equals(goalId)) {
+                if (current[0] != null) {
+                    batch.add(current[0]);
+                    if (batch.size() >= batchSize) {
+                        sink.accept(List.copyOf(batch));
+                        batch.clear();
+                    }
+                }
+                GoalStreak streak = new GoalStreak();
+                streak.setGoalId(goalId);
+                streak.setUpdatedAt(now);
+                current[0] = new Computed(streak, FrequencyType.valueOf(rs.getString(2)));
+            }
+            LocalDate day = rs.getObject(3, LocalDate.class);
+            if (StreakService.isExpected(current[0].frequency(), day)) {
+                StreakService.extend(current[0].streak(), current[0].frequency(), day);
+            }
+        }));
+        if (current[0] != null) {
+            batch.add(current[0]);
+        }
+        if (!batch.isEmpty()) {
+            sink.accept(List.copyOf(batch));
+        }
+    }
+}
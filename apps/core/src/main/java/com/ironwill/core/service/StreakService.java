@@ -0,0 +1,101 @@
+package com.ironwill.core.service;
+
+import com.ironwill.core.model.AuditStatus;
+import com.ironwill.core.model.FrequencyType;
+import com.ironwill.core.model.Goal;
+import com.ironwill.core.model.GoalStreak;
+import com.ironwill.core.repository.GoalStreakRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Keeps {@link GoalStreak} up to date in O(1) per verdict. A verified day extends the run when the previous
+ * expected day (yesterday, or the previous weekday for WEEKDAYS goals) was the last verified one, and starts a
+ * new run otherwise. A run is reported as current while its last day is today or the previous expected day.
+ */
+@Service
+@RequiredArgsConstructor
+public class StreakService {
+
+    public record Streak(int current, int longest, LocalDate lastVerifiedDate) {
+        static final Streak NONE = new Streak(0, 0, null);
+    }
+
+    private final GoalStreakRepository goalStreakRepository;
+
+    /**
+     * Call in the transaction that stores the audit verdict. {@code previous} is the status the day's audit had
+     * before, so a resubmission that overturns a PASS takes the day back out of the run.
+     */
+    @Transactional
+    public void onVerdict(Goal goal, LocalDate auditDate, AuditStatus previous, AuditStatus status) {
+        FrequencyType frequency = goal.getFrequencyType();
+        if (!isExpected(frequency, auditDate) || previous == status) {
+            return;
+        }
+        if (status != AuditStatus.VERIFIED && previous != AuditStatus.VERIFIED) {
+            return; // missed days are settled by StreakMaintenanceJob
+        }
+        // Insert-then-lock: two first verdicts racing to create the row would otherwise collide on the key
+        goalStreakRepository.insertIfAbsent(goal.getId(), OffsetDateTime.now());
+        GoalStreak streak = goalStreakRepository.lockById(goal.getId()).orElseThrow();
+        if (status == AuditStatus.VERIFIED) {
+            extend(streak, frequency, auditDate);
+        } else if (auditDate.equals(streak.getLastVerifiedDate())) {
+            // Longest is left as is (an earlier run may match it); the nightly check corrects it, and removes the
+            // row if no VERIFIED day is left
+            int current = Math.max(0, streak.getCurrentStreak() - 1);
+            streak.setCurrentStreak(current);
+            streak.setLastVerifiedDate(current > 0 ? previousExpected(frequency, auditDate) : null);
+        } else {
+            return; // an older day; left to the consistency check
+        }
+        streak.setUpdatedAt(OffsetDateTime.now());
+        goalStreakRepository.save(streak);
+    }
+
+    @Transactional(readOnly = true)
+    public Streak get(UUID goalId, FrequencyType frequency, LocalDate today) {
+        return goalStreakRepository.findById(goalId)
+                .map(s -> new Streak(effectiveCurrent(s, frequency, today), s.getLongestStreak(), s.getLastVerifiedDate()))
+                .orElse(Streak.NONE);
+    }
+
+    static void extend(GoalStreak streak, FrequencyType frequency, LocalDate day) {
+        LocalDate last = streak.getLastVerifiedDate();
+        if (last != null && !day.isAfter(last)) {
+            return; // same day again, or out of order
+        }
+        int current = last != null && last.equals(previousExpected(frequency, day)) ? streak.getCurrentStreak() + 1 : 1;
+        streak.setCurrentStreak(current);
+        streak.setLongestStreak(Math.max(streak.getLongestStreak(), current));
+        streak.setLastVerifiedDate(day);
+    }
+
+    static int effectiveCurrent(GoalStreak streak, FrequencyType frequency, LocalDate today) {
+        LocalDate last = streak.getLastVerifiedDate();
+        if (last == null || last.isBefore(previousExpected(frequency, today))) {
+            return 0;
+        }
+        return streak.getCurrentStreak();
+    }
+
+    static boolean isExpected(FrequencyType frequency, LocalDate day) {
+        return frequency != FrequencyType.WEEKDAYS
+                || (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY);
+    }
+
+    static LocalDate previousExpected(FrequencyType frequency, LocalDate day) {
+        LocalDate previous = day.minusDays(1);
+        while (!isExpected(frequency, previous)) {
+            previous = previous.minusDays(1);
+        }
+        return previous;
+    }
+}
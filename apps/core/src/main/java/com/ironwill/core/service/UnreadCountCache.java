@@ -0,0 +1,129 @@
+package com.ironwill.core.service;
+
+import com.ironwill.core.repository.NotificationRepository;
+import com.ironwill.core.repository.UnreadState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user {@link UnreadState} (unread count and newest unread {@code created_at}) behind the header badge and
+ * the unread ETag. Misses fall back to one aggregate query; any change to the user's unread set goes through
+ * {@link #changed}, which bumps the user's {@link UnreadVersionTracker} version and drops the entry.
+ * <p>
+ * A miss only caches its state if the version did not move while loading. Invalidation always follows the
+ * version bump, so a state read before a concurrent change can never be left behind. With {@code listen-notify}
+ * (on by default when the database is Postgres) changes are also sent over NOTIFY (delivered on commit) and
+ * applied by every instance, see {@link CacheInvalidationListener}. Entries also expire after
+ * {@code app.notifications.count-cache.ttl-ms}, which bounds staleness when a notification is missed or
+ * listen-notify is off.
+ */
+@Component
+public class UnreadCountCache {
+
+    static final String CHANNEL = "unread_changed";
+
+    private record Entry(long version, UnreadState state, long loadedAt) {}
+
+    private final Map<UUID, Entry> states = new ConcurrentHashMap<>();
+    private final NotificationRepository notificationRepository;
+    private final UnreadVersionTracker unreadVersionTracker;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxEntries;
+    private final long ttlMs;
+    private final boolean listenNotify;
+    private final Counter hits;
+    private final Counter misses;
+
+    public UnreadCountCache(NotificationRepository notificationRepository,
+                            UnreadVersionTracker unreadVersionTracker,
+                            JdbcTemplate jdbcTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.notifications.count-cache.max-entries:100000}") int maxEntries,
+                            @Value("${app.notifications.count-cache.ttl-ms:15000}") long ttlMs,
+                            @Value("${app.notifications.listen-notify:#{null}}") Boolean listenNotify) {
+        this.notificationRepository = notificationRepository;
+        this.unreadVersionTracker = unreadVersionTracker;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        this.listenNotify = listenNotify != null ? listenNotify : GoalReadCache.isPostgres(jdbcTemplate);
+        this.hits = Counter.builder("ironwill.notifications.unread_count.cache")
+                .tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("ironwill.notifications.unread_count.cache")
+                .tag("result", "miss").register(meterRegistry);
+        Gauge.builder("ironwill.notifications.unread_count.cache.size", states, Map::size).register(meterRegistry);
+        Gauge.builder("ironwill.notifications.unread_count.cache.hit_ratio", this, UnreadCountCache::hitRatio)
+                .register(meterRegistry);
+    }
+
+    public long get(UUID userId) {
+        return state(userId).count();
+    }
+
+    public UnreadState state(UUID userId) {
+        long now = System.currentTimeMillis();
+        Entry cached = states.get(userId);
+        if (cached != null && now - cached.loadedAt() < ttlMs) {
+            hits.increment();
+            return cached.state();
+        }
+        misses.increment();
+        long version = unreadVersionTracker.current(userId);
+        UnreadState state = notificationRepository.findUnreadState(userId);
+        evictIfFull();
+        states.compute(userId, (id, existing) ->
+                unreadVersionTracker.current(id) == version ? new Entry(version, state, now) : existing);
+        return state;
+    }
+
+    /**
+     * Call from within the transaction that changes the user's unread set.
+     */
+    public void changed(UUID userId) {
+        if (listenNotify) {
+            // NOTIFY is transactional: other instances hear it only if and when this transaction commits
+            jdbcTemplate.query("select pg_notify(?, ?)", rs -> null, CHANNEL, userId.toString());
+        }
+        TransactionHooks.nowAndAfterCompletion(() -> invalidateLocal(userId));
+    }
+
+    /**
+     * Whether changes go over NOTIFY; {@link CacheInvalidationListener} listens only when they do.
+     */
+    public boolean isListenNotify() {
+        return listenNotify;
+    }
+
+    // Bump before invalidating: loads rely on that order to never keep a stale state
+    void invalidateLocal(UUID userId) {
+        unreadVersionTracker.bump(userId);
+        states.remove(userId);
+    }
+
+    void clear() {
+        unreadVersionTracker.bumpAll();
+        states.clear();
+    }
+
+    private void evictIfFull() {
+        Iterator<UUID> it = states.keySet().iterator();
+        while (states.size() >= maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+}
@@ -0,0 +1,99 @@
+package com.ironwill.core.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user counter bumped whenever the unread set changes (new notification, mark-read), on this instance or,
+ * through {@link UnreadCountCache}'s NOTIFY channel, on another. Wakes long-poll waiters and guards
+ * {@link UnreadCountCache} loads.
+ * <p>
+ * Versions live in this instance only and are never shown to clients; the unread ETag is derived from the
+ * cached unread state ({@link NotificationService#unreadEtag}), which is the same on every instance.
+ */
+@Component
+public class UnreadVersionTracker {
+
+    private final Map<UUID, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<CompletableFuture<Long>>> waiters = new ConcurrentHashMap<>();
+    // Waiters are completed here, so whatever the caller chains (e.g. reloading the list) stays off the bumping thread
+    private final ScheduledExecutorService wakeExecutor;
+
+    public UnreadVersionTracker(@Value("${app.notifications.long-poll-threads:4}") int threads) {
+        AtomicInteger threadId = new AtomicInteger();
+        this.wakeExecutor = Executors.newScheduledThreadPool(threads, r -> {
+            Thread t = new Thread(r, "unread-long-poll-" + threadId.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public long current(UUID userId) {
+        AtomicLong v = versions.get(userId);
+        return v == null ? 0 : v.get();
+    }
+
+    public void bump(UUID userId) {
+        long version = versions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+        Set<CompletableFuture<Long>> parked = waiters.remove(userId);
+        if (parked != null) {
+            parked.forEach(f -> f.completeAsync(() -> version, wakeExecutor));
+        }
+    }
+
+    /**
+     * Bumps every known user, e.g. after changes from other instances may have been missed.
+     */
+    public void bumpAll() {
+        versions.keySet().forEach(this::bump);
+        waiters.keySet().forEach(this::bump);
+    }
+
+    /**
+     * Completes once the user's version moves past {@code sinceVersion} (immediately if it already has) or after
+     * {@code maxWaitMs}, whichever comes first, with the version at that point. Callers should {@link #cancel}
+     * the future when they stop waiting.
+     */
+    public CompletableFuture<Long> awaitChange(UUID userId, long sinceVersion, long maxWaitMs) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        waiters.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(future);
+        // Re-check after registering so a bump racing with registration is not missed
+        long now = current(userId);
+        if (now != sinceVersion) {
+            cancel(userId, future);
+            future.complete(now);
+            return future;
+        }
+        ScheduledFuture<?> timer = wakeExecutor.schedule(() -> {
+            cancel(userId, future);
+            future.complete(current(userId));
+        }, maxWaitMs, TimeUnit.MILLISECONDS);
+        future.whenComplete((v, ex) -> timer.cancel(false));
+        return future;
+    }
+
+    public void cancel(UUID userId, CompletableFuture<Long> future) {
+        waiters.computeIfPresent(userId, (id, set) -> {
+            set.remove(future);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wakeExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,46 @@
+package com.ironwill.core.service;
+
+import com.ironwill.core.model.User;
+import com.ironwill.core.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Walks the users table in keyset-ordered pages so batch jobs never hold more than one page in memory.
+ * Each page is loaded in its own short transaction, so nothing accumulates in a persistence context
+ * between pages.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserBatchIterator {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.batch.page-size:500}")
+    private int pageSize;
+
+    /**
+     * @return number of users visited
+     */
+    public long forEachPage(Consumer<List<User>> pageHandler) {
+        PageRequest page = PageRequest.of(0, pageSize);
+        List<User> batch = userRepository.findByOrderByIdAsc(page);
+        long visited = 0;
+        while (!batch.isEmpty()) {
+            pageHandler.accept(batch);
+            visited += batch.size();
+            if (batch.size() < pageSize) {
+                break;
+            }
+            UUID lastId = batch.get(batch.size() - 1).getId();
+            batch = userRepository.findByIdGreaterThanOrderByIdAsc(lastId, page);
+        }
+        return visited;
+    }
+}
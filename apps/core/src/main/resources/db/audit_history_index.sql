@@ -0,0 +1,7 @@
+-- Covering index for GET /api/goals/{goalId}/audits (Postgres 11+).
+-- The history query filters on goal_id, walks audit_date backwards and selects only status and score_impact,
+-- so it is served by an index-only scan once the table is vacuumed.
+-- CONCURRENTLY cannot run inside a transaction block.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_audit_logs_goal_history
+    ON audit_logs (goal_id, audit_date DESC) INCLUDE (status, score_impact);
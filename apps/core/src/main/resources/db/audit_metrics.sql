@@ -0,0 +1,10 @@
+-- Stores the agent's extracted_metrics on audit_logs (Postgres).
+-- The GIN index serves containment queries such as extracted_metrics @> '{"app_name": "Strava"}';
+-- trends read primary_value through the existing (goal_id, audit_date) unique index.
+-- CONCURRENTLY cannot run inside a transaction block; run statement by statement.
+
+ALTER TABLE audit_logs ADD COLUMN IF NOT EXISTS extracted_metrics jsonb;
+ALTER TABLE audit_logs ADD COLUMN IF NOT EXISTS primary_value double precision;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_audit_logs_metrics
+    ON audit_logs USING gin (extracted_metrics jsonb_path_ops);
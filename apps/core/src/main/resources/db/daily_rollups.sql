@@ -0,0 +1,41 @@
+-- Daily rollups for the calendar heatmap and admin analytics (Postgres).
+-- rollup_dirty_days is a queue of (user, day) pairs written on the request path and drained by
+-- DailyRollupService; lockout_events keeps one row per lockout since goals only hold the latest locked_until.
+-- After creating the tables, backfill with POST /api/admin/rollups/rebuild?from=...&to=...
+
+CREATE TABLE IF NOT EXISTS rollup_dirty_days (
+  user_id UUID NOT NULL,
+  rollup_date DATE NOT NULL,
+  PRIMARY KEY (user_id, rollup_date)
+);
+
+CREATE TABLE IF NOT EXISTS lockout_events (
+  id UUID PRIMARY KEY,
+  user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+  locked_on DATE NOT NULL,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_lockout_events_user_day ON lockout_events (user_id, locked_on);
+
+CREATE TABLE IF NOT EXISTS daily_user_rollups (
+  user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+  rollup_date DATE NOT NULL,
+  verified INT NOT NULL DEFAULT 0,
+  rejected INT NOT NULL DEFAULT 0,
+  missed INT NOT NULL DEFAULT 0,
+  score_impact NUMERIC(10,2) NOT NULL DEFAULT 0,
+  lockouts INT NOT NULL DEFAULT 0,
+  updated_at TIMESTAMP NOT NULL,
+  PRIMARY KEY (user_id, rollup_date)
+);
+CREATE INDEX IF NOT EXISTS idx_daily_user_rollups_day ON daily_user_rollups (rollup_date);
+
+CREATE TABLE IF NOT EXISTS daily_rollups (
+  rollup_date DATE PRIMARY KEY,
+  verified BIGINT NOT NULL DEFAULT 0,
+  rejected BIGINT NOT NULL DEFAULT 0,
+  missed BIGINT NOT NULL DEFAULT 0,
+  active_users BIGINT NOT NULL DEFAULT 0,
+  lockouts BIGINT NOT NULL DEFAULT 0,
+  updated_at TIMESTAMP NOT NULL
+);
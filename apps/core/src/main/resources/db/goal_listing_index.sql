@@ -0,0 +1,7 @@
+-- Keyset index for GET /api/goals/page (Postgres).
+-- The listing filters on user_id and walks (created_at, id) forwards; the status filter is applied to the few rows
+-- each page reads. idx_goals_user_status is part of the base schema and is not created here.
+-- CONCURRENTLY cannot run inside a transaction block.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_goals_user_created
+    ON goals (user_id, created_at, id);
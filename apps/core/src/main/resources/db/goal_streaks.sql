@@ -0,0 +1,12 @@
+-- Per-goal streaks maintained by StreakService as verdicts arrive (Postgres).
+-- The verdict path inserts the row with ON CONFLICT DO NOTHING and then locks it, so this table must exist
+-- before the release that writes streaks is deployed.
+-- After creating the table, backfill with POST /api/admin/streaks/rebuild
+
+CREATE TABLE IF NOT EXISTS goal_streaks (
+  goal_id UUID PRIMARY KEY REFERENCES goals(id) ON DELETE CASCADE,
+  current_streak INT NOT NULL DEFAULT 0,
+  longest_streak INT NOT NULL DEFAULT 0,
+  last_verified_date DATE,
+  updated_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,8 @@
+-- Keyset index for GET /api/notifications (Postgres).
+-- The feed filters on user_id and walks (created_at, id) backwards, so each page is an index range scan instead of
+-- a sort of the user's whole inbox. notifications_partitioning.sql creates the same index on partitioned tables;
+-- run this one on unpartitioned deployments.
+-- CONCURRENTLY cannot run inside a transaction block.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_user_created
+    ON notifications (user_id, created_at DESC, id DESC);
@@ -0,0 +1,50 @@
+-- One-time conversion of notifications into monthly range partitions on created_at (Postgres 12+).
+-- Run in a maintenance window. Afterwards NotificationRetentionJob keeps future partitions created
+-- and drops/archives expired ones (app.notifications.retention.enabled=true).
+-- Partitions are named notifications_yYYYYmMM; the job relies on that convention.
+
+BEGIN;
+
+ALTER TABLE notifications RENAME TO notifications_legacy;
+ALTER INDEX IF EXISTS notifications_pkey RENAME TO notifications_legacy_pkey;
+DROP INDEX IF EXISTS idx_notifications_user_unread;
+DROP INDEX IF EXISTS idx_notifications_user_created;
+
+-- The partition key must be part of the primary key
+CREATE TABLE notifications (
+    id         uuid        NOT NULL,
+    user_id    uuid        NOT NULL REFERENCES users (id),
+    message    text        NOT NULL,
+    is_read    boolean     NOT NULL DEFAULT false,
+    created_at timestamptz NOT NULL DEFAULT now(),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_notifications_user_unread ON notifications (user_id, is_read);
+CREATE INDEX idx_notifications_user_created ON notifications (user_id, created_at DESC, id DESC);
+
+-- Safety net for rows outside any monthly range; should stay empty while the job runs
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+DO $$
+DECLARE
+    m date;
+BEGIN
+    FOR m IN
+        SELECT generate_series(
+                       date_trunc('month', coalesce((SELECT min(created_at) FROM notifications_legacy), now())),
+                       date_trunc('month', now()) + interval '2 months',
+                       interval '1 month')::date
+    LOOP
+        EXECUTE format('CREATE TABLE notifications_y%sm%s PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                       to_char(m, 'YYYY'), to_char(m, 'MM'), m, (m + interval '1 month')::date);
+    END LOOP;
+END $$;
+
+INSERT INTO notifications (id, user_id, message, is_read, created_at)
+SELECT id, user_id, message, is_read, coalesce(created_at, now())
+FROM notifications_legacy;
+
+DROP TABLE notifications_legacy;
+
+COMMIT;
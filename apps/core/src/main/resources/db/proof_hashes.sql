@@ -0,0 +1,14 @@
+-- Proof image dHashes for near-duplicate detection (Postgres).
+-- ProofHashIndex loads the whole table on startup and every instance reads rows newer than its last sync every
+-- sync-ms, which the created_at index serves; the table must exist before the release that records hashes.
+
+CREATE TABLE IF NOT EXISTS proof_hashes (
+  id UUID PRIMARY KEY,
+  user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+  goal_id UUID NOT NULL REFERENCES goals(id) ON DELETE CASCADE,
+  audit_date DATE NOT NULL,
+  hash BYTEA NOT NULL,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_proof_hashes_user ON proof_hashes (user_id);
+CREATE INDEX IF NOT EXISTS idx_proof_hashes_created ON proof_hashes (created_at);
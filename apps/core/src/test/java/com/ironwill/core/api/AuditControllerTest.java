@@ -0,0 +1,37 @@
+package com.ironwill.core.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AuditController")
+class AuditControllerTest {
+
+    @Test
+    @DisplayName("Should read numeric and numeric-string primary values")
+    void primaryValueParses() {
+        assertThat(AuditController.primaryValue(Map.of("primary_value", 42))).isEqualTo(42.0);
+        assertThat(AuditController.primaryValue(Map.of("primary_value", 3.5))).isEqualTo(3.5);
+        assertThat(AuditController.primaryValue(Map.of("primary_value", " 12.25 "))).isEqualTo(12.25);
+    }
+
+    @Test
+    @DisplayName("Should drop missing and non-numeric primary values")
+    void primaryValueMissing() {
+        assertThat(AuditController.primaryValue(null)).isNull();
+        assertThat(AuditController.primaryValue(Map.of("steps", 100))).isNull();
+        assertThat(AuditController.primaryValue(Map.of("primary_value", "about ten"))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should drop NaN and infinite primary values")
+    void primaryValueRejectsNonFinite() {
+        for (Object value : new Object[]{Double.NaN, Double.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY,
+                "NaN", "Infinity", "-Infinity", "1e400"}) {
+            assertThat(AuditController.primaryValue(Map.of("primary_value", value))).isNull();
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.ironwill.core.client.AgentResponse;
 import com.ironwill.core.model.*;
 import com.ironwill.core.repository.AuditLogRepository;
 import com.ironwill.core.repository.GoalRepository;
+import com.ironwill.core.repository.LockoutEventRepository;
 import com.ironwill.core.repository.RoleRepository;
 import com.ironwill.core.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +18,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
@@ -65,6 +67,12 @@ public class AuditSubmissionE2ETest {
     @Autowired
     private AuditLogRepository auditLogRepository;
 
+    @Autowired
+    private LockoutEventRepository lockoutEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -258,6 +266,15 @@ public class AuditSubmissionE2ETest {
         Goal updatedGoal = goalRepository.findById(testGoal.getId()).orElseThrow();
         assertThat(updatedGoal.getStatus()).isEqualTo(GoalStatus.LOCKED);
         assertThat(updatedGoal.getLockedUntil()).isNotNull();
+
+        // Verify the lockout was recorded and the day queued once for the rollups
+        assertThat(lockoutEventRepository.findAll())
+                .filteredOn(e -> e.getUserId().equals(testUser.getId()))
+                .extracting(LockoutEvent::getLockedOn)
+                .containsExactly(LocalDate.now());
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from rollup_dirty_days where user_id = ? and rollup_date = ?",
+                Integer.class, testUser.getId(), LocalDate.now())).isEqualTo(1);
     }
 
     @Test
@@ -8,6 +8,7 @@ import com.ironwill.core.model.RoleType;
 import com.ironwill.core.model.User;
 import com.ironwill.core.repository.RoleRepository;
 import com.ironwill.core.repository.UserRepository;
+import com.ironwill.core.security.JwtService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,8 +23,11 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -55,6 +59,9 @@ public class AuthenticationE2ETest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JwtService jwtService;
+
     private User testUser;
     private String testEmail = "test@example.com";
     private String testPassword = "SecurePassword123!";
@@ -160,6 +167,112 @@ public class AuthenticationE2ETest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @DisplayName("Should keep actuator health public and metrics admin-only")
+    void testActuatorAccess() throws Exception {
+        int healthStatus = mockMvc.perform(get("/actuator/health")).andReturn().getResponse().getStatus();
+        assertThat(healthStatus).isNotIn(401, 403);
+
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics")
+                        .header("Authorization", "Bearer " + login(testEmail, testPassword)))
+                .andExpect(status().isForbidden());
+
+        User admin = new User();
+        admin.setEmail("ops@example.com");
+        admin.setFullName("Ops Admin");
+        admin.setTimezone("UTC");
+        admin.setPasswordHash(passwordEncoder.encode(testPassword));
+        admin.setAccountabilityScore(BigDecimal.valueOf(5.00));
+        admin.getRoles().add(roleRepository.findByName(RoleType.ROLE_ADMIN).orElseThrow());
+        userRepository.save(admin);
+
+        mockMvc.perform(get("/actuator/metrics")
+                        .header("Authorization", "Bearer " + login("ops@example.com", testPassword)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.names").isArray());
+    }
+
+    @Test
+    @DisplayName("Should build the principal from verified token claims without reloading roles")
+    void testStatelessPrincipalFromClaims() throws Exception {
+        // The stored user only has ROLE_USER; the signed claims are what the filter trusts
+        String token = jwtService.generate(testEmail, Map.of(
+                JwtService.CLAIM_USER_ID, testUser.getId().toString(),
+                JwtService.CLAIM_ROLES, List.of("ROLE_USER", "ROLE_ADMIN")));
+
+        mockMvc.perform(get("/actuator/metrics")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/auth/me")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(testEmail));
+    }
+
+    @Test
+    @DisplayName("Should load the user for tokens issued without a user id claim")
+    void testLegacyTokenFallsBackToUserLookup() throws Exception {
+        String legacyToken = jwtService.generate(testEmail, Map.of());
+
+        mockMvc.perform(post("/auth/me")
+                        .header("Authorization", "Bearer " + legacyToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(testEmail));
+        mockMvc.perform(get("/actuator/metrics")
+                        .header("Authorization", "Bearer " + legacyToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should share verified token claims between requests without exposing mutable state")
+    void testVerifiedClaimsCacheIsImmutable() {
+        String token = jwtService.generate(testEmail, Map.of(
+                JwtService.CLAIM_USER_ID, testUser.getId().toString(),
+                JwtService.CLAIM_ROLES, List.of("ROLE_USER")));
+
+        JwtService.VerifiedClaims first = jwtService.extractClaims(token);
+        first.expiration().setTime(0);
+        JwtService.VerifiedClaims second = jwtService.extractClaims(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.expiration()).isInTheFuture();
+        assertThat(second.userId()).isEqualTo(testUser.getId().toString());
+        assertThat(second.roles()).containsExactly("ROLE_USER");
+        assertThatThrownBy(() -> second.roles().add("ROLE_ADMIN"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Should rotate the refresh token and issue a working access token")
+    void testRefreshRotation() throws Exception {
+        AuthResponse login = loginResponse(testEmail, testPassword);
+
+        AuthResponse rotated = refresh(login.getRefreshToken(), 200);
+        assertThat(rotated.getRefreshToken()).isNotBlank().isNotEqualTo(login.getRefreshToken());
+        mockMvc.perform(post("/auth/me")
+                        .header("Authorization", "Bearer " + rotated.getToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(testEmail));
+
+        AuthResponse rotatedAgain = refresh(rotated.getRefreshToken(), 200);
+        assertThat(rotatedAgain.getRefreshToken()).isNotEqualTo(rotated.getRefreshToken());
+    }
+
+    @Test
+    @DisplayName("Should revoke the whole refresh family when a rotated token is reused")
+    void testRefreshReuseRevokesFamily() throws Exception {
+        AuthResponse login = loginResponse(testEmail, testPassword);
+        AuthResponse rotated = refresh(login.getRefreshToken(), 200);
+
+        refresh(login.getRefreshToken(), 401); // replay of the already rotated token
+        refresh(rotated.getRefreshToken(), 401); // its successor went down with the family
+
+        AuthResponse otherLogin = loginResponse(testEmail, testPassword);
+        refresh(otherLogin.getRefreshToken(), 200); // other logins are separate families
+    }
+
     @Test
     @DisplayName("Should fail login with missing credentials")
     void testLoginFailure_MissingCredentials() throws Exception {
@@ -198,5 +311,27 @@ public class AuthenticationE2ETest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.email").value(testEmail));
     }
-}
 
+    private String login(String email, String password) throws Exception {
+        return loginResponse(email, password).getToken();
+    }
+
+    private AuthResponse loginResponse(String email, String password) throws Exception {
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthRequest(email, password))))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class);
+    }
+
+    private AuthResponse refresh(String refreshToken, int expectedStatus) throws Exception {
+        MvcResult result = mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))))
+                .andExpect(status().is(expectedStatus))
+                .andReturn();
+        String body = result.getResponse().getContentAsString();
+        return body.isEmpty() ? null : objectMapper.readValue(body, AuthResponse.class);
+    }
+}
@@ -0,0 +1,120 @@
+package com.ironwill.core.e2e;
+
+import com.ironwill.core.model.RoleType;
+import com.ironwill.core.service.NagScheduler;
+import com.ironwill.core.service.RoleRegistry;
+import com.ironwill.core.service.UserBatchIterator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the batch user walk and the nag job over 500k synthetic users. Tagged {@code heap}: excluded from
+ * {@code test} and run by {@code ./gradlew heapTest} with a 384 MB max heap, where loading every user at once
+ * would not fit. The database is file-backed so the rows themselves do not sit on the test heap.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("heap")
+@DisplayName("Batch job heap E2E Tests")
+public class BatchHeapE2ETest {
+
+    private static final int USERS = 500_000;
+    private static final int INSERT_BATCH = 10_000;
+    // Retained heap may grow by at most this much while the walk runs
+    private static final long MAX_RETAINED_GROWTH = 64L * 1024 * 1024;
+
+    @TempDir
+    static Path dbDir;
+
+    @DynamicPropertySource
+    static void fileDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:" + dbDir.resolve("heap")
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;CACHE_SIZE=8192");
+        registry.add("logging.level.org.hibernate.SQL", () -> "INFO");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private UserBatchIterator userBatchIterator;
+
+    @Autowired
+    private NagScheduler nagScheduler;
+
+    @BeforeEach
+    void seedUsers() {
+        Integer existing = jdbcTemplate.queryForObject("select count(*) from users", Integer.class);
+        if (existing != null && existing >= USERS) {
+            return;
+        }
+        UUID roleId = roleRegistry.get(RoleType.ROLE_USER).getId();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int start = 0; start < USERS; start += INSERT_BATCH) {
+            List<Object[]> users = new ArrayList<>(INSERT_BATCH);
+            List<Object[]> roles = new ArrayList<>(INSERT_BATCH);
+            for (int i = start; i < start + INSERT_BATCH; i++) {
+                UUID id = UUID.randomUUID();
+                users.add(new Object[]{id, "heap-" + i + "@example.com", "Heap User " + i, now, now});
+                roles.add(new Object[]{id, roleId});
+            }
+            jdbcTemplate.batchUpdate("insert into users (id, email, full_name, timezone, accountability_score, " +
+                    "created_at, updated_at) values (?, ?, ?, 'UTC', 5.00, ?, ?)", users);
+            jdbcTemplate.batchUpdate("insert into user_roles (user_id, role_id) values (?, ?)", roles);
+        }
+    }
+
+    @Test
+    @DisplayName("Should visit every user while retained heap stays flat")
+    void testUserWalkKeepsHeapFlat() {
+        long baseline = retainedHeap();
+        long[] peak = {baseline};
+        int[] pages = {0};
+
+        long visited = userBatchIterator.forEachPage(page -> {
+            assertThat(page).allSatisfy(u -> assertThat(u.getRoles()).hasSize(1));
+            if (++pages[0] % 100 == 0) {
+                peak[0] = Math.max(peak[0], retainedHeap());
+            }
+        });
+
+        assertThat(visited).isEqualTo(USERS);
+        assertThat(peak[0] - baseline).isLessThan(MAX_RETAINED_GROWTH);
+    }
+
+    @Test
+    @DisplayName("Should complete the nag job over every user within the small heap")
+    void testNagJobCompletes() {
+        long baseline = retainedHeap();
+
+        nagScheduler.runNag();
+
+        assertThat(retainedHeap() - baseline).isLessThan(MAX_RETAINED_GROWTH);
+    }
+
+    private static long retainedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
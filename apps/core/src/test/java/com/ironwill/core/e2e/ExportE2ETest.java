@@ -0,0 +1,220 @@
+package com.ironwill.core.e2e;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironwill.core.api.dto.AuthRequest;
+import com.ironwill.core.api.dto.AuthResponse;
+import com.ironwill.core.model.*;
+import com.ironwill.core.repository.AuditLogRepository;
+import com.ironwill.core.repository.GoalRepository;
+import com.ironwill.core.repository.NotificationRepository;
+import com.ironwill.core.repository.RoleRepository;
+import com.ironwill.core.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * End-to-End tests for the streamed exports. Not transactional: the export reads on the async executor's own
+ * connection, so the rows must be committed. Everything created here is removed afterwards.
+ * <p>
+ * Only one export slot is configured, so each export after the first also checks that the previous one gave
+ * its slot back.
+ */
+@SpringBootTest(properties = "app.export.max-concurrent=1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Export E2E Tests")
+public class ExportE2ETest {
+
+    private static final String EMAIL = "export@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Goal goal;
+    private String authToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        user = new User();
+        user.setEmail(EMAIL);
+        user.setFullName("Export Test User");
+        user.setTimezone("UTC");
+        user.setPasswordHash(passwordEncoder.encode("password123"));
+        user.setAccountabilityScore(BigDecimal.valueOf(5.00));
+        user.getRoles().add(roleRepository.findByName(RoleType.ROLE_USER).orElseThrow()); // seeded by RoleRegistry
+        user = userRepository.save(user);
+
+        goal = new Goal();
+        goal.setUser(user);
+        goal.setTitle("Run, then rest");
+        goal.setReviewTime(LocalTime.of(21, 0));
+        goal.setFrequencyType(FrequencyType.DAILY);
+        goal.setStatus(GoalStatus.ACTIVE);
+        goal.setCriteriaConfig(objectMapper.createObjectNode().put("metric", "km"));
+        goal = goalRepository.save(goal);
+
+        AuditLog audit = new AuditLog();
+        audit.setGoal(goal);
+        audit.setAuditDate(LocalDate.of(2024, 1, 1));
+        audit.setStatus(AuditStatus.VERIFIED);
+        audit.setScoreImpact(new BigDecimal("0.50"));
+        audit.setPrimaryValue(12.5);
+        audit.setAgentRemarks("Said \"done\"\nthen left");
+        auditLogRepository.save(audit);
+
+        for (String message : List.of("=HYPERLINK(\"http://x\")", "-0.5", "@channel")) {
+            Notification notification = new Notification();
+            notification.setUser(user);
+            notification.setMessage(message);
+            notificationRepository.save(notification);
+        }
+
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthRequest(EMAIL, "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+        authToken = objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class).getToken();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from audit_logs where goal_id in (select id from goals where user_id = ?)",
+                user.getId());
+        jdbcTemplate.update("delete from goals where user_id = ?", user.getId());
+        jdbcTemplate.update("delete from notifications where user_id = ?", user.getId());
+        jdbcTemplate.update("delete from refresh_tokens where user_id = ?", user.getId());
+        jdbcTemplate.update("delete from user_roles where user_id = ?", user.getId());
+        jdbcTemplate.update("delete from users where id = ?", user.getId());
+    }
+
+    @Test
+    @DisplayName("Should stream audits as NDJSON with values intact")
+    void testAuditsNdjson() throws Exception {
+        List<JsonNode> rows = ndjson(export("/api/export/audits", "ndjson"));
+
+        assertThat(rows).hasSize(1);
+        JsonNode row = rows.get(0);
+        assertThat(row.get("audit_date").asText()).isEqualTo("2024-01-01");
+        assertThat(row.get("goal_title").asText()).isEqualTo("Run, then rest");
+        assertThat(row.get("status").asText()).isEqualTo("VERIFIED");
+        assertThat(row.get("score_impact").decimalValue()).isEqualByComparingTo("0.50");
+        assertThat(row.get("primary_value").asDouble()).isEqualTo(12.5);
+        assertThat(row.get("agent_remarks").asText()).isEqualTo("Said \"done\"\nthen left");
+        assertThat(row.get("submitted_at").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should stream audits as CSV with quoting for commas, quotes and newlines")
+    void testAuditsCsv() throws Exception {
+        String csv = export("/api/export/audits", "csv");
+
+        assertThat(csv).startsWith(
+                "audit_date,goal_id,goal_title,status,score_impact,primary_value,agent_remarks,submitted_at\r\n");
+        assertThat(csv).endsWith("2024-01-01," + goal.getId()
+                + ",\"Run, then rest\",VERIFIED,0.50,12.5,\"Said \"\"done\"\"\nthen left\",\r\n");
+    }
+
+    @Test
+    @DisplayName("Should export notifications as NDJSON verbatim and as CSV with formulas defused")
+    void testNotificationsBothFormats() throws Exception {
+        List<JsonNode> rows = ndjson(export("/api/export/notifications", "ndjson"));
+        assertThat(rows).extracting(r -> r.get("message").asText())
+                .containsExactlyInAnyOrder("=HYPERLINK(\"http://x\")", "-0.5", "@channel");
+        assertThat(rows).allSatisfy(r -> assertThat(r.get("is_read").isBoolean()).isTrue());
+
+        String csv = export("/api/export/notifications", "csv");
+        assertThat(csv).startsWith("id,message,is_read,created_at\r\n");
+        assertThat(csv).contains(",\"'=HYPERLINK(\"\"http://x\"\")\",false,");
+        assertThat(csv).contains(",-0.5,false,"); // numbers keep their sign
+        assertThat(csv).contains(",'@channel,false,");
+        assertThat(csv.split("\r\n")).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown formats without taking the export slot")
+    void testUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/export/audits")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        export("/api/export/audits", "csv"); // the only slot is still free
+    }
+
+    /**
+     * Runs an export to completion and returns the body. A 503 here means an earlier export leaked its slot.
+     */
+    private String export(String path, String format) throws Exception {
+        MvcResult started = mockMvc.perform(get(path)
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("format", format))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    private List<JsonNode> ndjson(String body) throws Exception {
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+}
@@ -5,6 +5,7 @@ import com.ironwill.core.api.dto.AuthRequest;
 import com.ironwill.core.api.dto.AuthResponse;
 import com.ironwill.core.api.dto.GoalRequest;
 import com.ironwill.core.model.*;
+import com.ironwill.core.repository.AuditLogRepository;
 import com.ironwill.core.repository.GoalRepository;
 import com.ironwill.core.repository.RoleRepository;
 import com.ironwill.core.repository.UserRepository;
@@ -22,8 +23,11 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.OffsetDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.Matchers.hasSize;
@@ -57,6 +61,9 @@ public class GoalManagementE2ETest {
     @Autowired
     private GoalRepository goalRepository;
 
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -67,6 +74,7 @@ public class GoalManagementE2ETest {
     @BeforeEach
     void setUp() throws Exception {
         // Clean up
+        auditLogRepository.deleteAll();
         goalRepository.deleteAll();
         userRepository.deleteAll();
 
@@ -125,6 +133,171 @@ public class GoalManagementE2ETest {
                 .andExpect(jsonPath("$.criteriaConfig.target").value(10));
     }
 
+    @Test
+    @DisplayName("Should report goal lock state in the profile")
+    void testProfileReflectsLockedGoals() throws Exception {
+        mockMvc.perform(post("/auth/me")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.locked").value(false))
+                .andExpect(jsonPath("$.lockedUntil").doesNotExist());
+
+        Goal locked = new Goal();
+        locked.setUser(testUser);
+        locked.setTitle("Locked goal");
+        locked.setReviewTime(LocalTime.of(8, 0));
+        locked.setFrequencyType(FrequencyType.DAILY);
+        locked.setStatus(GoalStatus.LOCKED);
+        locked.setLockedUntil(OffsetDateTime.now().plusDays(1));
+        locked.setCriteriaConfig(objectMapper.createObjectNode().put("metric", "steps"));
+        goalRepository.save(locked);
+
+        Goal active = new Goal();
+        active.setUser(testUser);
+        active.setTitle("Active goal");
+        active.setReviewTime(LocalTime.of(9, 0));
+        active.setFrequencyType(FrequencyType.DAILY);
+        active.setStatus(GoalStatus.ACTIVE);
+        active.setCriteriaConfig(objectMapper.createObjectNode().put("metric", "pages"));
+        goalRepository.save(active);
+
+        mockMvc.perform(post("/auth/me")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(testEmail))
+                .andExpect(jsonPath("$.locked").value(true))
+                .andExpect(jsonPath("$.lockedUntil").exists())
+                .andExpect(jsonPath("$.roles[0]").value("ROLE_USER"));
+    }
+
+    @Test
+    @DisplayName("Should page goals oldest first with raw criteria JSON and a status filter")
+    void testGoalPageKeyset() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            Goal goal = new Goal();
+            goal.setUser(testUser);
+            goal.setTitle("Paged goal " + i);
+            goal.setReviewTime(LocalTime.of(8 + i, 0));
+            goal.setFrequencyType(FrequencyType.DAILY);
+            goal.setStatus(i == 1 ? GoalStatus.LOCKED : GoalStatus.ACTIVE);
+            goal.setCriteriaConfig(objectMapper.createObjectNode().put("metric", "m" + i).put("target", i));
+            goalRepository.saveAndFlush(goal);
+        }
+
+        MvcResult first = mockMvc.perform(get("/api/goals/page")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].title").value("Paged goal 0"))
+                .andExpect(jsonPath("$.items[0].criteriaConfig.metric").value("m0"))
+                .andExpect(jsonPath("$.items[0].criteriaConfig.target").value(0))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andReturn();
+        String cursor = objectMapper.readTree(first.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/goals/page")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("limit", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title").value("Paged goal 2"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/goals/page")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("status", "LOCKED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title").value("Paged goal 1"));
+    }
+
+    @Test
+    @DisplayName("Should page a goal's audit history newest first by date cursor")
+    void testAuditHistoryKeyset() throws Exception {
+        Goal goal = saveGoal("History goal");
+        Goal other = saveGoal("Other goal");
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < 5; i++) {
+            saveAudit(goal, start.plusDays(i), i % 2 == 0 ? AuditStatus.VERIFIED : AuditStatus.REJECTED,
+                    i % 2 == 0 ? "0.50" : "-0.20");
+        }
+        saveAudit(other, start.plusDays(10), AuditStatus.VERIFIED, "0.50"); // newer, but another goal's
+
+        MvcResult first = mockMvc.perform(get("/api/goals/" + goal.getId() + "/audits")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].auditDate").value("2024-01-05"))
+                .andExpect(jsonPath("$.items[0].status").value("VERIFIED"))
+                .andExpect(jsonPath("$.items[0].scoreImpact").value(0.5))
+                .andExpect(jsonPath("$.items[1].auditDate").value("2024-01-04"))
+                .andExpect(jsonPath("$.items[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.items[1].scoreImpact").value(-0.2))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andReturn();
+        String cursor = objectMapper.readTree(first.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        MvcResult second = mockMvc.perform(get("/api/goals/" + goal.getId() + "/audits")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("limit", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].auditDate").value("2024-01-03"))
+                .andExpect(jsonPath("$.items[1].auditDate").value("2024-01-02"))
+                .andReturn();
+        cursor = objectMapper.readTree(second.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/goals/" + goal.getId() + "/audits")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("limit", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].auditDate").value("2024-01-01"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should drop the cached goal list as soon as a goal changes")
+    void testGoalListCacheInvalidatedOnUpdate() throws Exception {
+        Goal goal = new Goal();
+        goal.setUser(testUser);
+        goal.setTitle("Cached title");
+        goal.setReviewTime(LocalTime.of(8, 0));
+        goal.setFrequencyType(FrequencyType.DAILY);
+        goal.setStatus(GoalStatus.ACTIVE);
+        goal.setCriteriaConfig(objectMapper.createObjectNode().put("metric", "pages"));
+        goal = goalRepository.save(goal);
+
+        mockMvc.perform(get("/api/goals")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Cached title"));
+
+        GoalRequest update = new GoalRequest();
+        update.setTitle("Fresh title");
+        update.setReviewTime(LocalTime.of(9, 0));
+        update.setFrequencyType(FrequencyType.DAILY);
+        update.setCriteriaConfig(objectMapper.createObjectNode().put("metric", "pages"));
+        mockMvc.perform(put("/api/goals/" + goal.getId())
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+
+        // Same transaction, nothing committed yet: the list must not come from the stale snapshot
+        mockMvc.perform(get("/api/goals")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Fresh title"))
+                .andExpect(jsonPath("$[0].reviewTime").value("09:00:00"));
+    }
+
     @Test
     @DisplayName("Should retrieve all goals for authenticated user")
     void testGetAllGoals() throws Exception {
@@ -299,5 +472,48 @@ public class GoalManagementE2ETest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].title").value("Daily Reading - Updated"));
     }
-}
 
+    @Test
+    @DisplayName("Should create goals in batch and report invalid items")
+    void testBatchCreateGoals() throws Exception {
+        GoalRequest valid = new GoalRequest();
+        valid.setTitle("Morning Run");
+        valid.setReviewTime(LocalTime.of(9, 0));
+        valid.setCriteriaConfig(objectMapper.createObjectNode().put("metric", "distance"));
+
+        GoalRequest missingTitle = new GoalRequest();
+        missingTitle.setReviewTime(LocalTime.of(9, 0));
+        missingTitle.setCriteriaConfig(objectMapper.createObjectNode().put("metric", "pages"));
+
+        mockMvc.perform(post("/api/goals/batch")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valid, missingTitle))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.items[0].goal.title").value("Morning Run"))
+                .andExpect(jsonPath("$.items[1].ok").value(false))
+                .andExpect(jsonPath("$.items[1].error").value("title is required"));
+    }
+
+    private Goal saveGoal(String title) {
+        Goal goal = new Goal();
+        goal.setUser(testUser);
+        goal.setTitle(title);
+        goal.setReviewTime(LocalTime.of(21, 0));
+        goal.setFrequencyType(FrequencyType.DAILY);
+        goal.setStatus(GoalStatus.ACTIVE);
+        goal.setCriteriaConfig(objectMapper.createObjectNode().put("metric", "pages"));
+        return goalRepository.save(goal);
+    }
+
+    private void saveAudit(Goal goal, LocalDate date, AuditStatus status, String scoreImpact) {
+        AuditLog audit = new AuditLog();
+        audit.setGoal(goal);
+        audit.setAuditDate(date);
+        audit.setStatus(status);
+        audit.setScoreImpact(new BigDecimal(scoreImpact));
+        auditLogRepository.saveAndFlush(audit);
+    }
+}
@@ -0,0 +1,144 @@
+package com.ironwill.core.e2e;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironwill.core.api.dto.AuthRequest;
+import com.ironwill.core.model.RoleType;
+import com.ironwill.core.model.User;
+import com.ironwill.core.repository.RoleRepository;
+import com.ironwill.core.repository.UserRepository;
+import com.ironwill.core.security.PasswordHashingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * End-to-End tests for login load shedding: with the hashing pool and its queue full, logins get 503 instead
+ * of waiting. The pool is shrunk to one thread and one queue slot so two parked tasks fill it.
+ */
+@SpringBootTest(properties = {
+        "app.security.hashing.threads=1",
+        "app.security.hashing.queue-capacity=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Login shedding E2E Tests")
+public class LoginSheddingE2ETest {
+
+    private static final String EMAIL = "shed@example.com";
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Thread running;
+    private Thread queued;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setEmail(EMAIL);
+        user.setFullName("Shed Test User");
+        user.setTimezone("UTC");
+        user.setPasswordHash(passwordEncoder.encode(PASSWORD));
+        user.setAccountabilityScore(BigDecimal.valueOf(5.00));
+        user.getRoles().add(roleRepository.findByName(RoleType.ROLE_USER).orElseThrow()); // seeded by RoleRegistry
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        for (Thread t : new Thread[]{running, queued}) {
+            if (t != null) {
+                t.join(5000);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer 503 with Retry-After while the hashing pool is saturated, then recover")
+    void testLoginShedWhilePoolSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        running = park(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        queued = park(() -> {
+            release.await();
+            return null;
+        });
+        awaitParked(queued); // submitted, now waiting on its future
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthRequest(EMAIL, PASSWORD))))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+
+        release.countDown();
+        running.join(5000);
+        queued.join(5000);
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthRequest(EMAIL, PASSWORD))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists());
+    }
+
+    private Thread park(Callable<Void> task) {
+        Thread t = new Thread(() -> passwordHashingService.run(task), "hash-occupier");
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    private static void awaitParked(Thread t) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (t.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(t.getState()).isEqualTo(Thread.State.WAITING);
+    }
+}
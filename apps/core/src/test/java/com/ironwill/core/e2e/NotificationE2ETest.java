@@ -1,5 +1,6 @@
 package com.ironwill.core.e2e;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ironwill.core.api.dto.AuthRequest;
 import com.ironwill.core.api.dto.AuthResponse;
@@ -10,25 +11,36 @@ import com.ironwill.core.model.User;
 import com.ironwill.core.repository.NotificationRepository;
 import com.ironwill.core.repository.RoleRepository;
 import com.ironwill.core.repository.UserRepository;
+import com.ironwill.core.service.NotificationRetentionJob;
+import com.ironwill.core.service.UnreadCountCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -57,6 +69,15 @@ public class NotificationE2ETest {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationRetentionJob notificationRetentionJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UnreadCountCache unreadCountCache;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -172,7 +193,8 @@ public class NotificationE2ETest {
 
         mockMvc.perform(post("/api/notifications/read-all")
                         .header("Authorization", "Bearer " + authToken))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(3));
 
         // Verify all notifications were marked as read
         long unreadCount = notificationRepository.findByUserIdAndIsRead(testUser.getId(), false).size();
@@ -188,6 +210,190 @@ public class NotificationE2ETest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    @DisplayName("Should answer 304 for an unchanged unread list and 200 after a change")
+    void testGetUnreadNotifications_ConditionalPoll() throws Exception {
+        Notification notification = new Notification();
+        notification.setUser(testUser);
+        notification.setMessage("Conditional poll");
+        notification.setRead(false);
+        notification = notificationRepository.save(notification);
+
+        String etag = mockMvc.perform(get("/api/notifications/unread")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/notifications/unread")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // Marking read changes the unread set, so the old ETag no longer matches
+        mockMvc.perform(post("/api/notifications/" + notification.getId() + "/read")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/notifications/unread")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Should serve the unread ETag from memory until another instance announces a change")
+    void testGetUnreadNotifications_EtagFollowsOtherInstances() throws Exception {
+        Notification first = new Notification();
+        first.setUser(testUser);
+        first.setMessage("Seen already");
+        first.setRead(false);
+        notificationRepository.saveAndFlush(first);
+
+        String etag = mockMvc.perform(get("/api/notifications/unread")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Saved straight to the table, as NagScheduler on another instance would: no local change event
+        Notification second = new Notification();
+        second.setUser(testUser);
+        second.setMessage("Inserted elsewhere");
+        second.setRead(false);
+        notificationRepository.saveAndFlush(second);
+
+        mockMvc.perform(get("/api/notifications/unread")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // What CacheInvalidationListener does when the other instance's NOTIFY unread_changed arrives
+        ReflectionTestUtils.invokeMethod(unreadCountCache, "invalidateLocal", testUser.getId());
+
+        mockMvc.perform(get("/api/notifications/unread")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    @DisplayName("Should answer a long-poll with a stale ETag immediately")
+    void testPollUnread_StaleEtagAnswersImmediately() throws Exception {
+        Notification notification = new Notification();
+        notification.setUser(testUser);
+        notification.setMessage("Waiting for you");
+        notification.setRead(false);
+        notificationRepository.saveAndFlush(notification);
+
+        MvcResult poll = mockMvc.perform(get("/api/notifications/unread/poll")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", "\"0-0\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(poll))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].message").value("Waiting for you"));
+    }
+
+    @Test
+    @DisplayName("Should report the unread count and refresh it after mark-as-read")
+    void testUnreadCount() throws Exception {
+        Notification notif1 = new Notification();
+        notif1.setUser(testUser);
+        notif1.setMessage("Count me");
+        notif1.setRead(false);
+        notif1 = notificationRepository.save(notif1);
+
+        Notification notif2 = new Notification();
+        notif2.setUser(testUser);
+        notif2.setMessage("Count me too");
+        notif2.setRead(false);
+        notificationRepository.save(notif2);
+
+        mockMvc.perform(get("/api/notifications/unread/count")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2));
+
+        mockMvc.perform(post("/api/notifications/" + notif1.getId() + "/read")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/notifications/unread/count")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1));
+    }
+
+    @Test
+    @DisplayName("Should page the feed newest first by cursor without gaps or repeats")
+    void testFeed_KeysetPagination() throws Exception {
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Notification n = new Notification();
+            n.setUser(testUser);
+            n.setMessage("Feed item " + i);
+            n.setRead(i == 2);
+            notificationRepository.saveAndFlush(n);
+            created.add(n.getMessage());
+        }
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/api/notifications")
+                    .header("Authorization", "Bearer " + authToken)
+                    .param("limit", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            assertThat(page.get("items").size()).isLessThanOrEqualTo(2);
+            page.get("items").forEach(item -> seen.add(item.get("message").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(created);
+        assertThat(seen).doesNotHaveDuplicates();
+
+        mockMvc.perform(get("/api/notifications")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("unreadOnly", "true")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(4)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should compact only read notifications older than the retention window")
+    void testRetention_CompactsOldReadNotifications() {
+        Notification oldRead = saveNotification("Old and read", true);
+        Notification oldUnread = saveNotification("Old but unread", false);
+        Notification recentRead = saveNotification("Recent and read", true);
+        OffsetDateTime longAgo = OffsetDateTime.now().minusDays(40);
+        jdbcTemplate.update("update notifications set created_at = ? where id in (?, ?)",
+                longAgo, oldRead.getId(), oldUnread.getId());
+
+        NotificationRetentionJob.RetentionReport report = notificationRetentionJob.run();
+
+        assertThat(report.compactedRows()).isEqualTo(1);
+        assertThat(report.droppedPartitions()).isZero(); // H2 is never partitioned
+        assertThat(jdbcTemplate.queryForList("select message from notifications", String.class))
+                .containsExactlyInAnyOrder(oldUnread.getMessage(), recentRead.getMessage());
+    }
+
     @Test
     @DisplayName("Should not access another user's notifications")
     void testGetNotifications_IsolatedByUser() throws Exception {
@@ -269,5 +475,12 @@ public class NotificationE2ETest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
     }
-}
 
+    private Notification saveNotification(String message, boolean read) {
+        Notification notification = new Notification();
+        notification.setUser(testUser);
+        notification.setMessage(message);
+        notification.setRead(read);
+        return notificationRepository.saveAndFlush(notification);
+    }
+}
@@ -0,0 +1,208 @@
+package com.ironwill.core.e2e;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironwill.core.api.dto.AuthRequest;
+import com.ironwill.core.api.dto.AuthResponse;
+import com.ironwill.core.model.Notification;
+import com.ironwill.core.model.Role;
+import com.ironwill.core.model.RoleType;
+import com.ironwill.core.model.User;
+import com.ironwill.core.repository.NotificationRepository;
+import com.ironwill.core.repository.RoleRepository;
+import com.ironwill.core.repository.UserRepository;
+import com.ironwill.core.service.NotificationHub;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * End-to-End tests for the notification SSE stream: push, resume with Last-Event-ID, and resync.
+ * Idle replay rings are evicted immediately so eviction can be observed.
+ */
+@SpringBootTest(properties = "app.notifications.push.idle-evict-ms=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Notification Stream E2E Tests")
+public class NotificationStreamE2ETest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationHub notificationHub;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User testUser;
+    private String authToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        notificationRepository.deleteAll();
+        userRepository.deleteAll();
+
+        Role userRole = roleRepository.findByName(RoleType.ROLE_USER).orElseThrow(); // seeded by RoleRegistry
+
+        testUser = new User();
+        testUser.setEmail("stream@example.com");
+        testUser.setFullName("Stream Test User");
+        testUser.setTimezone("UTC");
+        testUser.setPasswordHash(passwordEncoder.encode("password123"));
+        testUser.setAccountabilityScore(BigDecimal.valueOf(5.00));
+        testUser.getRoles().add(userRole);
+        testUser = userRepository.save(testUser);
+
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(new AuthRequest("stream@example.com", "password123"))))
+                .andReturn();
+        authToken = objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class).getToken();
+    }
+
+    @Test
+    @DisplayName("Should push a new notification to an open stream")
+    void testStreamPushesNotification() throws Exception {
+        MvcResult stream = openStream(null);
+
+        publish("Pushed over SSE");
+
+        String content = awaitContent(stream, "Pushed over SSE");
+        assertThat(content).contains("event:notification");
+        assertThat(content).doesNotContain("event:resync");
+    }
+
+    @Test
+    @DisplayName("Should replay only missed events when resuming with Last-Event-ID")
+    void testStreamResumeReplaysMissedEvents() throws Exception {
+        MvcResult first = openStream(null);
+        publish("First event");
+        String lastSeen = eventIds(awaitContent(first, "First event")).get(0);
+        publish("Second event");
+        awaitContent(first, "Second event");
+
+        MvcResult resumed = openStream(lastSeen);
+
+        String content = awaitContent(resumed, "Second event");
+        assertThat(content).contains("Second event");
+        assertThat(content).doesNotContain("First event");
+        assertThat(content).doesNotContain("event:resync");
+    }
+
+    @Test
+    @DisplayName("Should send resync for a Last-Event-ID from another instance or an earlier process")
+    void testStreamResyncForForeignEventId() throws Exception {
+        MvcResult stream = openStream("0-42");
+
+        assertThat(awaitContent(stream, "event:resync")).contains("event:resync");
+    }
+
+    @Test
+    @DisplayName("Should evict an idle replay ring and send resync on the next resume")
+    void testStreamResyncAfterIdleEviction() throws Exception {
+        MvcResult first = openStream(null);
+        publish("Before disconnect");
+        String lastSeen = eventIds(awaitContent(first, "Before disconnect")).get(0);
+
+        first.getRequest().getAsyncContext().complete();
+        notificationHub.heartbeat(); // sweeps rings idle for at least idle-evict-ms (0 here)
+        publish("While disconnected"); // no ring any more, so this one is not replayable
+
+        MvcResult resumed = openStream(lastSeen);
+
+        String content = awaitContent(resumed, "event:resync");
+        assertThat(content).contains("event:resync");
+        assertThat(content).doesNotContain("While disconnected");
+    }
+
+    @Test
+    @DisplayName("Should send resync instead of replaying a tail larger than the send buffer can take")
+    void testStreamResyncForLongMissedTail() throws Exception {
+        MvcResult first = openStream(null);
+        publish("Before disconnect");
+        String lastSeen = eventIds(awaitContent(first, "Before disconnect")).get(0);
+        first.getRequest().getAsyncContext().complete();
+
+        for (int i = 0; i < 20; i++) { // more than half of the default buffer-size of 32
+            publish("Missed " + i);
+        }
+
+        MvcResult resumed = openStream(lastSeen);
+        publish("Live after resume");
+
+        String content = awaitContent(resumed, "Live after resume");
+        assertThat(content).contains("event:resync");
+        assertThat(content).contains("Live after resume");
+        assertThat(content).doesNotContain("Missed 0");
+    }
+
+    private MvcResult openStream(String lastEventId) throws Exception {
+        var builder = get("/api/notifications/stream").header("Authorization", "Bearer " + authToken);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private void publish(String message) {
+        Notification notification = new Notification();
+        notification.setUser(testUser);
+        notification.setMessage(message);
+        notification.setRead(false);
+        notificationHub.publish(testUser.getId(), notificationRepository.saveAndFlush(notification));
+    }
+
+    // Events are written by the push dispatcher threads, so wait for them to land
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
+
+    private static List<String> eventIds(String content) {
+        List<String> ids = new ArrayList<>();
+        Matcher m = EVENT_ID.matcher(content);
+        while (m.find()) {
+            ids.add(m.group(1));
+        }
+        return ids;
+    }
+}
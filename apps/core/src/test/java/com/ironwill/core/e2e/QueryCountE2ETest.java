@@ -0,0 +1,267 @@
+package com.ironwill.core.e2e;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironwill.core.api.dto.AuthRequest;
+import com.ironwill.core.api.dto.AuthResponse;
+import com.ironwill.core.api.dto.GoalRequest;
+import com.ironwill.core.model.FrequencyType;
+import com.ironwill.core.model.Goal;
+import com.ironwill.core.model.GoalStatus;
+import com.ironwill.core.model.Notification;
+import com.ironwill.core.model.Role;
+import com.ironwill.core.model.RoleType;
+import com.ironwill.core.model.User;
+import com.ironwill.core.repository.GoalRepository;
+import com.ironwill.core.repository.NotificationRepository;
+import com.ironwill.core.repository.RoleRepository;
+import com.ironwill.core.repository.UserRepository;
+import com.ironwill.core.service.AdminSeeder;
+import com.ironwill.core.service.RoleRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements behind authenticated requests. The current user comes from the token, so
+ * endpoints that only need the caller's id must not look the user up.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.security.revocation-sync-ms=3600000" // keep the background sync out of the counts
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Query count E2E Tests")
+public class QueryCountE2ETest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private AdminSeeder adminSeeder;
+
+    private Goal goal;
+    private String authToken;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        notificationRepository.deleteAll();
+        goalRepository.deleteAll();
+        userRepository.deleteAll();
+
+        Role userRole = roleRepository.findByName(RoleType.ROLE_USER).orElseThrow(); // seeded by RoleRegistry
+
+        User user = new User();
+        user.setEmail("queries@example.com");
+        user.setFullName("Query Count User");
+        user.setTimezone("UTC");
+        user.setPasswordHash(passwordEncoder.encode("password123"));
+        user.setAccountabilityScore(BigDecimal.valueOf(5.00));
+        user.getRoles().add(userRole);
+        user = userRepository.saveAndFlush(user);
+
+        Notification notification = new Notification();
+        notification.setUser(user);
+        notification.setMessage("Counted");
+        notification.setRead(false);
+        notificationRepository.saveAndFlush(notification);
+
+        goal = new Goal();
+        goal.setUser(user);
+        goal.setTitle("Counted goal");
+        goal.setReviewTime(LocalTime.of(21, 0));
+        goal.setFrequencyType(FrequencyType.DAILY);
+        goal.setStatus(GoalStatus.ACTIVE);
+        goal.setCriteriaConfig(objectMapper.createObjectNode().put("metric", "pages"));
+        goal = goalRepository.saveAndFlush(goal);
+
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(new AuthRequest("queries@example.com", "password123"))))
+                .andReturn();
+        authToken = objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class).getToken();
+        userRepository.flush(); // write out anything login left pending so it is not counted below
+        entityManager.clear(); // the requests share this transaction's session; make them load what they use
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should answer the unread badge with a single COUNT and no user lookup")
+    void testUnreadCountRunsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/notifications/unread/count")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should page the notification feed with a single query")
+    void testFeedRunsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/notifications")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should build the profile from one projection query")
+    void testProfileRunsOneStatement() throws Exception {
+        mockMvc.perform(post("/auth/me")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("queries@example.com"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should list goals with one query and no user lookup")
+    void testGoalListRunsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/goals")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Counted goal"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should create a goal against a user reference without loading the user")
+    void testGoalCreateDoesNotLoadUser() throws Exception {
+        GoalRequest request = new GoalRequest();
+        request.setTitle("Created goal");
+        request.setReviewTime(LocalTime.of(9, 0));
+        request.setCriteriaConfig(objectMapper.createObjectNode().put("metric", "pages"));
+
+        mockMvc.perform(post("/api/goals")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+        goalRepository.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load the user once per audit submission")
+    void testAuditSubmitLoadsUserOnce() throws Exception {
+        MockMultipartFile invalidFile = new MockMultipartFile(
+                "proof", "test.txt", "text/plain", "This is not an image".getBytes());
+
+        // Rejected after the user, goal and score checks, before any upload or agent call
+        mockMvc.perform(multipart("/api/goals/" + goal.getId() + "/audit")
+                        .file(invalidFile)
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isBadRequest());
+
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(Goal.class.getName()).getLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should load the user once to change the timezone")
+    void testTimezoneUpdateLoadsUserOnce() throws Exception {
+        mockMvc.perform(put("/api/user/timezone")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"timezone\":\"Europe/Berlin\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timezone").value("Europe/Berlin"));
+        userRepository.flush();
+
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should serve roles from the registry and seed users without querying the roles table")
+    void testRolesComeFromRegistry() {
+        for (RoleType type : RoleType.values()) {
+            assertThat(roleRegistry.get(type).getName()).isEqualTo(type);
+        }
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        AdminSeeder seeder = AopTestUtils.getTargetObject(adminSeeder);
+        ReflectionTestUtils.setField(seeder, "adminEmail", "seeded-admin@example.com");
+        ReflectionTestUtils.setField(seeder, "adminPassword", "admin-password");
+        try {
+            adminSeeder.run();
+            userRepository.flush();
+        } finally {
+            ReflectionTestUtils.setField(seeder, "adminEmail", "");
+            ReflectionTestUtils.setField(seeder, "adminPassword", "");
+        }
+
+        assertThat(statistics.getEntityStatistics(Role.class.getName()).getLoadCount()).isZero();
+        assertThat(userRepository.findByEmail("seeded-admin@example.com").orElseThrow().getRoles())
+                .extracting(Role::getName)
+                .containsExactly(RoleType.ROLE_ADMIN);
+    }
+}
@@ -0,0 +1,194 @@
+package com.ironwill.core.e2e;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironwill.core.api.dto.AuthRequest;
+import com.ironwill.core.api.dto.AuthResponse;
+import com.ironwill.core.model.DailyRollup;
+import com.ironwill.core.model.DailyUserRollup;
+import com.ironwill.core.model.RoleType;
+import com.ironwill.core.model.User;
+import com.ironwill.core.repository.DailyRollupRepository;
+import com.ironwill.core.repository.DailyUserRollupRepository;
+import com.ironwill.core.repository.RoleRepository;
+import com.ironwill.core.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Calendar heatmap and admin chart endpoints, served from rollup rows. The refresh that writes those rows uses
+ * PostgreSQL-only SQL, so the rows are seeded directly here.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Rollup E2E Tests")
+public class RollupE2ETest {
+
+    private static final LocalDate MARCH_1 = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private DailyUserRollupRepository dailyUserRollupRepository;
+
+    @Autowired
+    private DailyRollupRepository dailyRollupRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User testUser;
+    private String authToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dailyUserRollupRepository.deleteAll();
+        dailyRollupRepository.deleteAll();
+
+        testUser = saveUser("rollups@example.com", RoleType.ROLE_USER);
+        authToken = login("rollups@example.com");
+    }
+
+    @Test
+    @DisplayName("Should return only the caller's active days in the range as offsets from its start")
+    void testCalendar() throws Exception {
+        saveUserRollup(testUser.getId(), MARCH_1.minusDays(1), 9, 9, 9, 9); // before the range
+        saveUserRollup(testUser.getId(), MARCH_1, 2, 0, 0, 0);
+        saveUserRollup(testUser.getId(), MARCH_1.plusDays(4), 1, 1, 0, 0);
+        saveUserRollup(testUser.getId(), MARCH_1.plusDays(30), 0, 0, 2, 1);
+        saveUserRollup(UUID.randomUUID(), MARCH_1.plusDays(4), 5, 5, 5, 5); // someone else's day
+
+        mockMvc.perform(get("/api/calendar")
+                        .param("from", "2024-03-01")
+                        .param("to", "2024-03-31")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value("2024-03-01"))
+                .andExpect(jsonPath("$.to").value("2024-03-31"))
+                .andExpect(jsonPath("$.dayOffsets").value(List.of(0, 4, 30)))
+                .andExpect(jsonPath("$.verified").value(List.of(2, 1, 0)))
+                .andExpect(jsonPath("$.rejected").value(List.of(0, 1, 0)))
+                .andExpect(jsonPath("$.missed").value(List.of(0, 0, 2)))
+                .andExpect(jsonPath("$.lockouts").value(List.of(0, 0, 1)));
+    }
+
+    @Test
+    @DisplayName("Should reject reversed and over-long calendar ranges")
+    void testCalendarRangeValidation() throws Exception {
+        mockMvc.perform(get("/api/calendar")
+                        .param("from", "2024-03-31")
+                        .param("to", "2024-03-01")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/calendar")
+                        .param("from", "2023-01-01")
+                        .param("to", "2024-01-02")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should serve global daily totals with pass rates to admins only")
+    void testAdminDaily() throws Exception {
+        saveRollup(MARCH_1, 3, 1, 0, 4, 1);
+        saveRollup(MARCH_1.plusDays(1), 0, 0, 0, 0, 2);
+        saveRollup(MARCH_1.plusDays(5), 7, 0, 0, 7, 0); // after the range
+
+        mockMvc.perform(get("/api/admin/analytics/daily")
+                        .param("from", "2024-03-01")
+                        .param("to", "2024-03-02")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isForbidden());
+
+        saveUser("rollups-admin@example.com", RoleType.ROLE_ADMIN);
+        mockMvc.perform(get("/api/admin/analytics/daily")
+                        .param("from", "2024-03-01")
+                        .param("to", "2024-03-02")
+                        .header("Authorization", "Bearer " + login("rollups-admin@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].day").value("2024-03-01"))
+                .andExpect(jsonPath("$[0].passRate").value(0.75))
+                .andExpect(jsonPath("$[0].activeUsers").value(4))
+                .andExpect(jsonPath("$[0].lockouts").value(1))
+                .andExpect(jsonPath("$[1].day").value("2024-03-02"))
+                .andExpect(jsonPath("$[1].passRate").doesNotExist())
+                .andExpect(jsonPath("$[1].lockouts").value(2));
+    }
+
+    private User saveUser(String email, RoleType role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setFullName("Rollup User");
+        user.setTimezone("UTC");
+        user.setPasswordHash(passwordEncoder.encode("password123"));
+        user.setAccountabilityScore(BigDecimal.valueOf(5.00));
+        user.getRoles().add(roleRepository.findByName(role).orElseThrow());
+        return userRepository.save(user);
+    }
+
+    private String login(String email) throws Exception {
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(new AuthRequest(email, "password123"))))
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class).getToken();
+    }
+
+    private void saveUserRollup(UUID userId, LocalDate day, int verified, int rejected, int missed, int lockouts) {
+        DailyUserRollup rollup = new DailyUserRollup();
+        rollup.setUserId(userId);
+        rollup.setDay(day);
+        rollup.setVerified(verified);
+        rollup.setRejected(rejected);
+        rollup.setMissed(missed);
+        rollup.setScoreImpact(BigDecimal.ZERO);
+        rollup.setLockouts(lockouts);
+        rollup.setUpdatedAt(OffsetDateTime.now());
+        dailyUserRollupRepository.save(rollup);
+    }
+
+    private void saveRollup(LocalDate day, long verified, long rejected, long missed, long activeUsers, long lockouts) {
+        DailyRollup rollup = new DailyRollup();
+        rollup.setDay(day);
+        rollup.setVerified(verified);
+        rollup.setRejected(rejected);
+        rollup.setMissed(missed);
+        rollup.setActiveUsers(activeUsers);
+        rollup.setLockouts(lockouts);
+        rollup.setUpdatedAt(OffsetDateTime.now());
+        dailyRollupRepository.save(rollup);
+    }
+}
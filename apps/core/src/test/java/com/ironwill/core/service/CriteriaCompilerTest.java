@@ -0,0 +1,88 @@
+package com.ironwill.core.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ironwill.core.model.Goal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CriteriaCompiler")
+class CriteriaCompilerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CriteriaCompiler compiler = new CriteriaCompiler(100);
+
+    @Test
+    @DisplayName("Should reuse the compiled criteria while updatedAt is unchanged")
+    void reusesWhileUpdatedAtUnchanged() {
+        Goal goal = goal(rule("pages", ">=", 10));
+        goal.setUpdatedAt(OffsetDateTime.now());
+
+        assertThat(compiler.forGoal(goal)).isSameAs(compiler.forGoal(goal));
+    }
+
+    @Test
+    @DisplayName("Should recompile when updatedAt changes")
+    void recompilesWhenUpdatedAtChanges() {
+        Goal goal = goal(rule("pages", ">=", 10));
+        goal.setUpdatedAt(OffsetDateTime.now().minusMinutes(1));
+        CompiledCriteria before = compiler.forGoal(goal);
+
+        goal.setCriteriaConfig(rule("pages", ">=", 50));
+        goal.setUpdatedAt(OffsetDateTime.now());
+
+        assertThat(before.evaluate(Map.of("pages", 20))).isEqualTo(CompiledCriteria.Outcome.PASS);
+        assertThat(compiler.forGoal(goal).evaluate(Map.of("pages", 20))).isEqualTo(CompiledCriteria.Outcome.FAIL);
+    }
+
+    @Test
+    @DisplayName("Should key goals without updatedAt by their criteria, not serve stale rules")
+    void keysByCriteriaWhenUpdatedAtMissing() {
+        Goal goal = goal(rule("pages", ">=", 10));
+        CompiledCriteria first = compiler.forGoal(goal);
+        assertThat(compiler.forGoal(goal)).isSameAs(first);
+
+        goal.setCriteriaConfig(rule("pages", ">=", 50));
+
+        assertThat(compiler.forGoal(goal)).isNotSameAs(first);
+        assertThat(compiler.forGoal(goal).evaluate(Map.of("pages", 20))).isEqualTo(CompiledCriteria.Outcome.FAIL);
+    }
+
+    @Test
+    @DisplayName("Should evaluate every rule and fall back to primary_value for a single rule")
+    void evaluatesRules() {
+        ObjectNode both = objectMapper.createObjectNode();
+        both.putArray("rules").add(rule("pages", ">=", 10)).add(rule("app", "==", "Kindle"));
+        CompiledCriteria multi = compiler.compile(both);
+        CompiledCriteria single = compiler.compile(rule("steps", ">", 1000));
+
+        assertThat(multi.evaluate(Map.of("pages", 12, "app", "kindle "))).isEqualTo(CompiledCriteria.Outcome.PASS);
+        assertThat(multi.evaluate(Map.of("pages", 12, "app", "Books"))).isEqualTo(CompiledCriteria.Outcome.FAIL);
+        assertThat(multi.evaluate(Map.of("pages", 12))).isEqualTo(CompiledCriteria.Outcome.UNKNOWN);
+        assertThat(single.evaluate(Map.of("primary_value", "1500"))).isEqualTo(CompiledCriteria.Outcome.PASS);
+        assertThat(compiler.compile(objectMapper.createObjectNode().put("metric", "x")).isSupported()).isFalse();
+    }
+
+    private Goal goal(ObjectNode criteria) {
+        Goal goal = new Goal();
+        goal.setId(UUID.randomUUID());
+        goal.setCriteriaConfig(criteria);
+        return goal;
+    }
+
+    private ObjectNode rule(String metric, String operator, Object target) {
+        ObjectNode node = objectMapper.createObjectNode().put("metric", metric).put("operator", operator);
+        if (target instanceof Number n) {
+            node.put("target", n.doubleValue());
+        } else {
+            node.put("target", target.toString());
+        }
+        return node;
+    }
+}
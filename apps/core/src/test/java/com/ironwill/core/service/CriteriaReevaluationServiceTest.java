@@ -0,0 +1,62 @@
+package com.ironwill.core.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ironwill.core.model.AuditStatus;
+import com.ironwill.core.repository.AuditMetricsView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CriteriaReevaluationService")
+class CriteriaReevaluationServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CriteriaCompiler compiler = new CriteriaCompiler(100);
+
+    @Test
+    @DisplayName("Should re-check stored metrics against new criteria and count PASS verdicts that would now fail")
+    void reevaluatesStoredMetrics() {
+        List<AuditMetricsView> audits = List.of(
+                new AuditMetricsView(DAY, AuditStatus.VERIFIED, Map.of("pages", 60)),
+                new AuditMetricsView(DAY.plusDays(1), AuditStatus.VERIFIED, Map.of("pages", 20)),
+                new AuditMetricsView(DAY.plusDays(2), AuditStatus.REJECTED, Map.of("pages", 5)),
+                new AuditMetricsView(DAY.plusDays(3), AuditStatus.VERIFIED, Map.of("app_name", "Kindle")));
+
+        CriteriaReevaluationService.Report report =
+                CriteriaReevaluationService.evaluate(compiler.compile(rule("pages", ">=", 50)), audits);
+
+        assertThat(report.supported()).isTrue();
+        assertThat(report.pass()).isEqualTo(1);
+        assertThat(report.fail()).isEqualTo(2);
+        assertThat(report.unknown()).isEqualTo(1);
+        assertThat(report.newlyFailing()).isEqualTo(1);
+        assertThat(report.audits()).extracting(CriteriaReevaluationService.Result::outcome).containsExactly(
+                CompiledCriteria.Outcome.PASS, CompiledCriteria.Outcome.FAIL,
+                CompiledCriteria.Outcome.FAIL, CompiledCriteria.Outcome.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("Should report criteria the core cannot evaluate as unsupported and every audit as unknown")
+    void unsupportedCriteria() {
+        List<AuditMetricsView> audits = List.of(new AuditMetricsView(DAY, AuditStatus.VERIFIED, Map.of("pages", 60)));
+
+        CriteriaReevaluationService.Report report = CriteriaReevaluationService.evaluate(
+                compiler.compile(objectMapper.createObjectNode().put("description", "read daily")), audits);
+
+        assertThat(report.supported()).isFalse();
+        assertThat(report.unknown()).isEqualTo(1);
+        assertThat(report.newlyFailing()).isZero();
+    }
+
+    private ObjectNode rule(String metric, String operator, int target) {
+        return objectMapper.createObjectNode().put("metric", metric).put("operator", operator).put("target", target);
+    }
+}
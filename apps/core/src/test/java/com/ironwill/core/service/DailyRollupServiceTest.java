@@ -0,0 +1,71 @@
+package com.ironwill.core.service;
+
+import com.ironwill.core.service.DailyRollupService.Counts;
+import com.ironwill.core.service.DailyRollupService.DayDelta;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Delta arithmetic of the rollup refresh. The claim and recompute SQL is PostgreSQL-only and is not run here.
+ */
+@DisplayName("DailyRollupService")
+class DailyRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+    private static final Counts NONE = new Counts(0, 0, 0, 0);
+
+    @Test
+    @DisplayName("Should add a new user's day and count them as active")
+    void newUserDay() {
+        Map<LocalDate, DayDelta> deltas = new TreeMap<>();
+        DailyRollupService.addDelta(deltas, DAY, NONE, new Counts(2, 1, 0, 1));
+
+        assertThat(deltas).containsEntry(DAY, new DayDelta(2, 1, 0, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Should apply only the change of an already active user")
+    void changedUserDay() {
+        Map<LocalDate, DayDelta> deltas = new TreeMap<>();
+        DailyRollupService.addDelta(deltas, DAY, new Counts(1, 0, 0, 0), new Counts(0, 1, 0, 0));
+
+        assertThat(deltas).containsEntry(DAY, new DayDelta(-1, 1, 0, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Should drop a user from the active count when their last audit goes away")
+    void userNoLongerActive() {
+        Map<LocalDate, DayDelta> deltas = new TreeMap<>();
+        DailyRollupService.addDelta(deltas, DAY, new Counts(1, 0, 0, 2), new Counts(0, 0, 0, 2));
+
+        assertThat(deltas).containsEntry(DAY, new DayDelta(-1, 0, 0, -1, 0));
+    }
+
+    @Test
+    @DisplayName("Should not count a day with only lockouts as active")
+    void lockoutOnly() {
+        Map<LocalDate, DayDelta> deltas = new TreeMap<>();
+        DailyRollupService.addDelta(deltas, DAY, NONE, new Counts(0, 0, 0, 1));
+
+        assertThat(deltas).containsEntry(DAY, new DayDelta(0, 0, 0, 0, 1));
+    }
+
+    @Test
+    @DisplayName("Should sum the deltas of several users per day and leave unchanged days at zero")
+    void sumsPerDay() {
+        Map<LocalDate, DayDelta> deltas = new TreeMap<>();
+        DailyRollupService.addDelta(deltas, DAY, NONE, new Counts(1, 0, 0, 0));
+        DailyRollupService.addDelta(deltas, DAY, new Counts(0, 0, 1, 0), new Counts(1, 0, 1, 0));
+        DailyRollupService.addDelta(deltas, DAY, new Counts(1, 0, 0, 0), NONE);
+        DailyRollupService.addDelta(deltas, DAY.plusDays(1), new Counts(3, 0, 0, 0), new Counts(3, 0, 0, 0));
+
+        assertThat(deltas).containsEntry(DAY, new DayDelta(1, 0, 0, 0, 0));
+        assertThat(deltas.get(DAY.plusDays(1)).isZero()).isTrue();
+    }
+}
@@ -0,0 +1,95 @@
+package com.ironwill.core.service;
+
+import com.ironwill.core.repository.AuditLogRepository;
+import com.ironwill.core.repository.MetricPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("MetricTrendService")
+class MetricTrendServiceTest {
+
+    private static final UUID GOAL = UUID.randomUUID();
+    private static final LocalDate FROM = LocalDate.of(2024, 3, 1);
+
+    private final AuditLogRepository auditLogRepository = mock(AuditLogRepository.class);
+    private final MetricTrendService service = new MetricTrendService(auditLogRepository);
+
+    @Test
+    @DisplayName("Should return one point per audited day when the range fits")
+    void dailyPoints() {
+        points(point(0, 1.0), point(2, 4.0), point(9, 6.5));
+
+        MetricTrendService.Trend trend = service.trend(GOAL, FROM, FROM.plusDays(9), 200);
+
+        assertThat(trend.bucketDays()).isEqualTo(1);
+        assertThat(trend.dayOffsets()).containsExactly(0, 2, 9);
+        assertThat(trend.values()).containsExactly(1.0, 4.0, 6.5);
+        assertThat(trend.samples()).containsExactly(1, 1, 1);
+    }
+
+    @Test
+    @DisplayName("Should average into equal-width buckets and skip empty ones")
+    void bucketsLongRanges() {
+        points(point(0, 1.0), point(1, 2.0), point(2, 6.0), point(4, 10.0), point(29, 5.0));
+
+        // 30 days into at most 10 points: 3-day buckets
+        MetricTrendService.Trend trend = service.trend(GOAL, FROM, FROM.plusDays(29), 10);
+
+        assertThat(trend.bucketDays()).isEqualTo(3);
+        assertThat(trend.dayOffsets()).containsExactly(0, 3, 27);
+        assertThat(trend.values()).containsExactly(3.0, 10.0, 5.0);
+        assertThat(trend.samples()).containsExactly(3, 1, 1);
+    }
+
+    @Test
+    @DisplayName("Should round the bucket width up so the point limit holds")
+    void roundsBucketWidthUp() {
+        points(point(0, 1.0), point(3, 1.0), point(6, 1.0));
+
+        MetricTrendService.Trend trend = service.trend(GOAL, FROM, FROM.plusDays(6), 3);
+
+        assertThat(trend.bucketDays()).isEqualTo(3);
+        assertThat(trend.dayOffsets()).containsExactly(0, 3, 6);
+    }
+
+    @Test
+    @DisplayName("Should leave non-finite stored values out of the means")
+    void skipsNonFinite() {
+        points(point(0, 2.0), point(1, Double.NaN), point(2, 4.0), point(5, Double.POSITIVE_INFINITY));
+
+        MetricTrendService.Trend trend = service.trend(GOAL, FROM, FROM.plusDays(29), 10);
+
+        assertThat(trend.dayOffsets()).containsExactly(0);
+        assertThat(trend.values()).containsExactly(3.0);
+        assertThat(trend.samples()).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Should return empty arrays when nothing was audited")
+    void emptyRange() {
+        points();
+
+        MetricTrendService.Trend trend = service.trend(GOAL, FROM, FROM.plusDays(29), 10);
+
+        assertThat(trend.dayOffsets()).isEmpty();
+        assertThat(trend.values()).isEmpty();
+        assertThat(trend.samples()).isEmpty();
+    }
+
+    private void points(MetricPoint... points) {
+        when(auditLogRepository.findMetricPoints(any(), any(), any())).thenReturn(List.of(points));
+    }
+
+    private static MetricPoint point(int day, double value) {
+        return new MetricPoint(FROM.plusDays(day), value);
+    }
+}
@@ -0,0 +1,75 @@
+package com.ironwill.core.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MultiIndexHashTable")
+class MultiIndexHashTableTest {
+
+    private static final int RADIUS = 3;
+    private static final int ENTRIES = 20_000;
+
+    @Test
+    @DisplayName("Should probe radius + 1 chunks and skip the buckets flat bands fill")
+    void skipsFlatBandBuckets() {
+        MultiIndexHashTable<Integer> table = new MultiIndexHashTable<>(RADIUS);
+        long[][] hashes = bandedHashes(ENTRIES);
+        for (int i = 0; i < hashes.length; i++) {
+            table.add(hashes[i], i);
+        }
+
+        // Chunks 0..11 are the flat rows every entry shares; only 12..15 carry detail
+        int[] probes = table.probes(hashes[123]);
+        assertThat(probes).hasSize(RADIUS + 1);
+        for (int chunk : probes) {
+            assertThat(chunk).isGreaterThanOrEqualTo(12);
+        }
+    }
+
+    @Test
+    @DisplayName("Should still find hashes within the radius through the selective chunks")
+    void findsNearHashesAmongFlatBands() {
+        MultiIndexHashTable<Integer> table = new MultiIndexHashTable<>(RADIUS);
+        long[][] hashes = bandedHashes(ENTRIES);
+        for (int i = 0; i < hashes.length; i++) {
+            table.add(hashes[i], i);
+        }
+
+        long[] near = hashes[4321].clone();
+        near[3] ^= 1L | 1L << 20 | 1L << 40; // one bit in each of three detail chunks
+        assertThat(table.findWithin(near, v -> true)).isEqualTo(4321);
+
+        long[] far = hashes[4321].clone();
+        far[3] ^= 1L | 1L << 20 | 1L << 40 | 1L << 60;
+        assertThat(table.findWithin(far, v -> v == 4321)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should probe every chunk's bucket while the table is small")
+    void smallTableProbesAnyChunk() {
+        MultiIndexHashTable<Integer> table = new MultiIndexHashTable<>(RADIUS);
+        long[][] hashes = bandedHashes(10);
+        for (int i = 0; i < hashes.length; i++) {
+            table.add(hashes[i], i);
+        }
+
+        assertThat(table.probes(hashes[0])).hasSize(RADIUS + 1);
+        assertThat(table.findWithin(new long[]{0, 0, 0, hashes[7][3]}, v -> true)).isEqualTo(7);
+    }
+
+    /**
+     * Screenshot-like hashes: twelve flat rows (all zero) and four rows of detail.
+     */
+    private static long[][] bandedHashes(int n) {
+        Random random = new Random(42);
+        long[][] hashes = new long[n][];
+        for (int i = 0; i < n; i++) {
+            hashes[i] = new long[]{0, 0, 0, random.nextLong()};
+        }
+        return hashes;
+    }
+}
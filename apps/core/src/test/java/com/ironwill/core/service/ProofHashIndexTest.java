@@ -0,0 +1,183 @@
+package com.ironwill.core.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ProofHashIndex")
+class ProofHashIndexTest {
+
+    // Defaults of app.proof.dedupe.max-distance and max-pixels
+    private static final int MAX_DISTANCE = 3;
+    private static final long MAX_PIXELS = 50_000_000;
+
+    // Segments a..g of each digit, as in a seven-segment display
+    private static final String[] SEGMENTS = {
+            "abcdef", "bc", "abdeg", "abcdg", "bcfg", "acdfg", "acdefg", "abc", "abcdefg", "abcdfg"};
+
+    @Test
+    @DisplayName("Should match rescaled and recompressed copies of a screenshot")
+    void matchesCopies() throws Exception {
+        BufferedImage shot = screenshot("8214", new int[]{310, 520, 180, 640, 410, 250, 560});
+        long[] original = hash("image/png", png(shot));
+
+        for (int width : new int[]{1080, 720, 540}) {
+            long[] copy = hash("image/jpeg", jpeg(shot, width, 0.6f));
+            assertThat(BkTree.distance(original, copy)).isLessThanOrEqualTo(MAX_DISTANCE);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not match different screenshots from the same app")
+    void sameAppScreenshotsAreNotFlagged() throws Exception {
+        BkTree<String> perUser = new BkTree<>();
+        MultiIndexHashTable<String> global = new MultiIndexHashTable<>(MAX_DISTANCE);
+        long[] monday = hash("image/png", png(screenshot("8214", new int[]{310, 520, 180, 640, 410, 250, 560})));
+        perUser.add(monday, "monday");
+        global.add(monday, "monday");
+
+        // The first differs only in the total and today's bar; the rest are other weeks
+        String[] days = {"8199", "12930", "9871", "10402", "7005"};
+        int[][] charts = {
+                {310, 520, 180, 640, 410, 250, 590},
+                {520, 180, 640, 410, 250, 560, 330},
+                {150, 150, 600, 580, 220, 470, 610},
+                {640, 300, 120, 500, 390, 420, 200},
+                {260, 610, 450, 170, 530, 340, 480}};
+        for (int i = 0; i < days.length; i++) {
+            long[] other = hash("image/jpeg", jpeg(screenshot(days[i], charts[i]), 1080, 0.8f));
+            assertThat(perUser.findWithin(other, MAX_DISTANCE, e -> true)).isNull();
+            assertThat(global.findWithin(other, e -> true)).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip images over the pixel cap without decoding them")
+    void skipsOversizedImages() throws Exception {
+        byte[] image = png(screenshot("8214", new int[]{310, 520, 180, 640, 410, 250, 560}));
+
+        assertThat(ProofHashIndex.dHash(file("image/png", image), 1080L * 2340 - 1)).isNull();
+        assertThat(ProofHashIndex.dHash(file("image/png", image), 1080L * 2340)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should return no hash for corrupt or truncated images")
+    void corruptImages() throws Exception {
+        byte[] image = jpeg(screenshot("8214", new int[]{310, 520, 180, 640, 410, 250, 560}), 1080, 0.8f);
+
+        assertThat(ProofHashIndex.dHash(file("image/jpeg", new byte[]{1, 2, 3}), MAX_PIXELS)).isNull();
+        assertThat(ProofHashIndex.dHash(file("image/jpeg", Arrays.copyOf(image, 600)), MAX_PIXELS)).isNull();
+        byte[] scrambled = image.clone();
+        for (int i = 400; i < scrambled.length; i += 7) {
+            scrambled[i] = (byte) 0xFF;
+        }
+        ProofHashIndex.dHash(file("image/jpeg", scrambled), MAX_PIXELS); // must not throw
+    }
+
+    @Test
+    @DisplayName("Should round-trip hashes through their stored form")
+    void bytesRoundTrip() {
+        long[] hash = {0x0123456789ABCDEFL, -1L, 0L, Long.MIN_VALUE};
+
+        assertThat(ProofHashIndex.toBytes(hash)).hasSize(32);
+        assertThat(ProofHashIndex.fromBytes(ProofHashIndex.toBytes(hash))).containsExactly(hash);
+    }
+
+    private static long[] hash(String type, byte[] content) throws IOException {
+        long[] hash = ProofHashIndex.dHash(file(type, content), MAX_PIXELS);
+        assertThat(hash).isNotNull();
+        return hash;
+    }
+
+    private static MockMultipartFile file(String type, byte[] content) {
+        return new MockMultipartFile("file", "proof", type, content);
+    }
+
+    /**
+     * A phone-sized activity screen: app bar, a card with the day's total, a weekly bar chart and a nav bar.
+     * Every screen shares the layout; only the number and the bars change.
+     */
+    private static BufferedImage screenshot(String total, int[] bars) {
+        BufferedImage image = new BufferedImage(1080, 2340, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(new Color(245, 245, 247));
+        g.fillRect(0, 0, 1080, 2340);
+        g.setColor(new Color(30, 120, 220));
+        g.fillRect(0, 0, 1080, 220);
+        g.setColor(Color.WHITE);
+        g.fillRoundRect(40, 300, 1000, 700, 40, 40);
+        g.fillRoundRect(40, 1060, 1000, 900, 40, 40);
+        g.setColor(new Color(20, 20, 20));
+        for (int i = 0; i < total.length(); i++) {
+            drawDigit(g, total.charAt(i) - '0', 100 + i * 170, 450);
+        }
+        g.setColor(new Color(30, 120, 220));
+        for (int i = 0; i < bars.length; i++) {
+            g.fillRect(100 + i * 130, 1900 - bars[i], 80, bars[i]);
+        }
+        g.setColor(new Color(200, 200, 200));
+        g.fillRect(0, 2200, 1080, 140);
+        g.dispose();
+        return image;
+    }
+
+    private static void drawDigit(Graphics2D g, int digit, int x, int y) {
+        int w = 120;
+        int h = 110;
+        int t = 22;
+        for (char s : SEGMENTS[digit].toCharArray()) {
+            switch (s) {
+                case 'a' -> g.fillRect(x, y, w, t);
+                case 'b' -> g.fillRect(x + w - t, y, t, h);
+                case 'c' -> g.fillRect(x + w - t, y + h, t, h);
+                case 'd' -> g.fillRect(x, y + 2 * h - t, w, t);
+                case 'e' -> g.fillRect(x, y + h, t, h);
+                case 'f' -> g.fillRect(x, y, t, h);
+                default -> g.fillRect(x, y + h - t / 2, w, t);
+            }
+        }
+    }
+
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static byte[] jpeg(BufferedImage image, int width, float quality) throws IOException {
+        int height = image.getHeight() * width / image.getWidth();
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(image, 0, 0, width, height, null);
+        g.dispose();
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(scaled, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
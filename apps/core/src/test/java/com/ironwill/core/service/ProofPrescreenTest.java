@@ -0,0 +1,166 @@
+package com.ironwill.core.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ProofPrescreen")
+class ProofPrescreenTest {
+
+    private static final ZoneId UTC = ZoneId.of("UTC");
+    private static final DateTimeFormatter EXIF_TIME = DateTimeFormatter.ofPattern("yyyy:MM:dd HH:mm:ss");
+    // Declared upload size: large enough that no test image looks blank unless it means to
+    private static final int BIG = 4 * 1024 * 1024;
+
+    private final ProofPrescreen prescreen = new ProofPrescreen(new SimpleMeterRegistry(), true, 65536, 200, 0.005, 48);
+
+    @Test
+    @DisplayName("Should read PNG IHDR dimensions")
+    void pngDimensions() throws Exception {
+        assertThat(screen("image/png", png(800, 600), BIG).rejected()).isFalse();
+        assertThat(screen("image/png", png(800, 150), BIG).reason()).isEqualTo("Image is too small to verify.");
+    }
+
+    @Test
+    @DisplayName("Should reject content that contradicts the declared type")
+    void magicMismatch() throws Exception {
+        assertThat(screen("image/jpeg", png(800, 600), BIG).reason())
+                .isEqualTo("File content does not match its type.");
+        assertThat(screen("image/png", jpeg(null, 800, 600), BIG).reason())
+                .isEqualTo("File content does not match its type.");
+    }
+
+    @Test
+    @DisplayName("Should reject images that compress to almost nothing")
+    void blankImage() throws Exception {
+        assertThat(screen("image/png", png(2000, 2000), 1000).reason()).isEqualTo("Image appears to be blank.");
+    }
+
+    @Test
+    @DisplayName("Should read JPEG SOF dimensions")
+    void jpegDimensions() throws Exception {
+        assertThat(screen("image/jpeg", jpeg(null, 1024, 768), BIG).rejected()).isFalse();
+        assertThat(screen("image/jpeg", jpeg(null, 120, 768), BIG).reason()).isEqualTo("Image is too small to verify.");
+    }
+
+    @Test
+    @DisplayName("Should read EXIF capture time in both byte orders")
+    void exifBothByteOrders() throws Exception {
+        LocalDateTime old = LocalDateTime.now(UTC).minusDays(10);
+        LocalDateTime recent = LocalDateTime.now(UTC).minusHours(1);
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN}) {
+            assertThat(screen("image/jpeg", jpeg(exif(order, old), 1024, 768), BIG).reason())
+                    .isEqualTo("Photo was taken too long ago.");
+            assertThat(screen("image/jpeg", jpeg(exif(order, recent), 1024, 768), BIG).rejected()).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should pass truncated headers on to the agent")
+    void truncatedHeaders() throws Exception {
+        byte[] png = png(800, 600);
+        byte[] jpeg = jpeg(exif(ByteOrder.LITTLE_ENDIAN, LocalDateTime.now(UTC).minusDays(10)), 1024, 768);
+        for (int len = 8; len < png.length; len++) {
+            assertThat(screen("image/png", Arrays.copyOf(png, len), BIG).rejected()).isFalse();
+        }
+        for (int len = 3; len < 30; len++) {
+            assertThat(screen("image/jpeg", Arrays.copyOf(jpeg, len), BIG).rejected()).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should ignore hostile EXIF offsets and counts without failing")
+    void hostileOffsets() throws Exception {
+        int[] hostile = {Integer.MAX_VALUE, Integer.MAX_VALUE - 3, 0x80000000, 0xFFFFFFFF, 0xFFFFFFF0, 0x7FFFFFF0};
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN}) {
+            for (int value : hostile) {
+                // IFD0 offset, sub-IFD pointer, ASCII count and ASCII offset each set to the hostile value in turn
+                for (int field = 0; field < 4; field++) {
+                    byte[] tiff = exif(order, LocalDateTime.now(UTC).minusDays(10));
+                    ByteBuffer buf = ByteBuffer.wrap(tiff).order(order);
+                    switch (field) {
+                        case 0 -> buf.putInt(4, value);
+                        case 1 -> buf.putInt(18, value);
+                        case 2 -> buf.putInt(32, value);
+                        default -> buf.putInt(36, value);
+                    }
+                    ProofPrescreen.Result result = screen("image/jpeg", jpeg(tiff, 1024, 768), BIG);
+                    assertThat(result.rejected()).isFalse();
+                }
+            }
+            byte[] tiff = exif(order, LocalDateTime.now(UTC).minusDays(10));
+            ByteBuffer buf = ByteBuffer.wrap(tiff).order(order);
+            buf.putShort(8, (short) 0xFFFF); // IFD0 claims 65535 entries...
+            buf.putShort(10, (short) 0x0001); // ...and none of those in the file is the Exif pointer
+            assertThat(screen("image/jpeg", jpeg(tiff, 1024, 768), BIG).rejected()).isFalse();
+        }
+    }
+
+    private ProofPrescreen.Result screen(String type, byte[] content, long declaredSize) throws Exception {
+        // Declared size drives the blank check; the content only has to carry the header
+        MockMultipartFile file = new MockMultipartFile("file", "proof", type, content) {
+            @Override
+            public long getSize() {
+                return declaredSize;
+            }
+        };
+        return prescreen.screen(file, UTC);
+    }
+
+    private static byte[] png(int width, int height) {
+        ByteBuffer buf = ByteBuffer.allocate(33);
+        buf.put(new byte[]{(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A});
+        buf.putInt(13).put("IHDR".getBytes(StandardCharsets.US_ASCII));
+        buf.putInt(width).putInt(height).put((byte) 8).put((byte) 2).put((byte) 0).put((byte) 0).put((byte) 0);
+        buf.putInt(0); // CRC, not checked
+        return buf.array();
+    }
+
+    /**
+     * SOI, optional APP1 Exif segment carrying {@code tiff}, SOF0 and the start of a scan.
+     */
+    private static byte[] jpeg(byte[] tiff, int width, int height) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(new byte[]{(byte) 0xFF, (byte) 0xD8});
+        if (tiff != null) {
+            int length = 2 + 6 + tiff.length;
+            out.writeBytes(new byte[]{(byte) 0xFF, (byte) 0xE1, (byte) (length >> 8), (byte) length});
+            out.writeBytes("Exif\0\0".getBytes(StandardCharsets.US_ASCII));
+            out.writeBytes(tiff);
+        }
+        out.writeBytes(new byte[]{(byte) 0xFF, (byte) 0xC0, 0, 17, 8,
+                (byte) (height >> 8), (byte) height, (byte) (width >> 8), (byte) width, 3,
+                1, 0x22, 0, 2, 0x11, 1, 3, 0x11, 1});
+        out.writeBytes(new byte[]{(byte) 0xFF, (byte) 0xDA, 0, 2});
+        return out.toByteArray();
+    }
+
+    /**
+     * TIFF header, IFD0 with a single Exif sub-IFD pointer (value at 18), and the sub-IFD with
+     * DateTimeOriginal (count at 32, offset at 36) whose text starts at 44.
+     */
+    private static byte[] exif(ByteOrder order, LocalDateTime captured) {
+        ByteBuffer buf = ByteBuffer.allocate(64).order(order);
+        buf.put(order == ByteOrder.LITTLE_ENDIAN ? (byte) 'I' : (byte) 'M');
+        buf.put(order == ByteOrder.LITTLE_ENDIAN ? (byte) 'I' : (byte) 'M');
+        buf.putShort((short) 42).putInt(8);
+        buf.putShort((short) 1).putShort((short) 0x8769).putShort((short) 4).putInt(1).putInt(26);
+        buf.putInt(0);
+        buf.putShort((short) 1).putShort((short) 0x9003).putShort((short) 2).putInt(20).putInt(44);
+        buf.putInt(0);
+        buf.put((EXIF_TIME.format(captured) + "\0").getBytes(StandardCharsets.US_ASCII));
+        return buf.array();
+    }
+}
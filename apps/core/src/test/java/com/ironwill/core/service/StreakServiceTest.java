@@ -0,0 +1,153 @@
+package com.ironwill.core.service;
+
+import com.ironwill.core.model.AuditStatus;
+import com.ironwill.core.model.FrequencyType;
+import com.ironwill.core.model.Goal;
+import com.ironwill.core.model.GoalStreak;
+import com.ironwill.core.repository.GoalStreakRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("StreakService")
+class StreakServiceTest {
+
+    // A Monday
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+    private static final LocalDate FRIDAY = MONDAY.minusDays(3);
+
+    private final GoalStreakRepository goalStreakRepository = mock(GoalStreakRepository.class);
+    private final StreakService service = new StreakService(goalStreakRepository);
+
+    @Test
+    @DisplayName("Should extend consecutive days and restart after a gap, keeping the longest run")
+    void extendRuns() {
+        GoalStreak streak = new GoalStreak();
+        StreakService.extend(streak, FrequencyType.DAILY, MONDAY);
+        StreakService.extend(streak, FrequencyType.DAILY, MONDAY.plusDays(1));
+        StreakService.extend(streak, FrequencyType.DAILY, MONDAY.plusDays(2));
+        assertThat(streak.getCurrentStreak()).isEqualTo(3);
+        assertThat(streak.getLongestStreak()).isEqualTo(3);
+
+        StreakService.extend(streak, FrequencyType.DAILY, MONDAY.plusDays(4));
+        assertThat(streak.getCurrentStreak()).isEqualTo(1);
+        assertThat(streak.getLongestStreak()).isEqualTo(3);
+        assertThat(streak.getLastVerifiedDate()).isEqualTo(MONDAY.plusDays(4));
+    }
+
+    @Test
+    @DisplayName("Should ignore the same day again and days older than the last verified one")
+    void extendIgnoresRepeatsAndOlderDays() {
+        GoalStreak streak = streak(2, 5, MONDAY);
+
+        StreakService.extend(streak, FrequencyType.DAILY, MONDAY);
+        StreakService.extend(streak, FrequencyType.DAILY, MONDAY.minusDays(3));
+
+        assertThat(streak.getCurrentStreak()).isEqualTo(2);
+        assertThat(streak.getLongestStreak()).isEqualTo(5);
+        assertThat(streak.getLastVerifiedDate()).isEqualTo(MONDAY);
+    }
+
+    @Test
+    @DisplayName("Should carry a WEEKDAYS run over the weekend but not a DAILY one")
+    void extendAcrossWeekend() {
+        GoalStreak weekdays = streak(5, 5, FRIDAY);
+        StreakService.extend(weekdays, FrequencyType.WEEKDAYS, MONDAY);
+        assertThat(weekdays.getCurrentStreak()).isEqualTo(6);
+
+        GoalStreak daily = streak(5, 5, FRIDAY);
+        StreakService.extend(daily, FrequencyType.DAILY, MONDAY);
+        assertThat(daily.getCurrentStreak()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report a run as current only while its last day is today or the previous expected day")
+    void effectiveCurrent() {
+        GoalStreak streak = streak(4, 4, MONDAY);
+        assertThat(StreakService.effectiveCurrent(streak, FrequencyType.DAILY, MONDAY)).isEqualTo(4);
+        assertThat(StreakService.effectiveCurrent(streak, FrequencyType.DAILY, MONDAY.plusDays(1))).isEqualTo(4);
+        assertThat(StreakService.effectiveCurrent(streak, FrequencyType.DAILY, MONDAY.plusDays(2))).isZero();
+        assertThat(StreakService.effectiveCurrent(new GoalStreak(), FrequencyType.DAILY, MONDAY)).isZero();
+
+        GoalStreak friday = streak(4, 4, FRIDAY);
+        assertThat(StreakService.effectiveCurrent(friday, FrequencyType.WEEKDAYS, MONDAY)).isEqualTo(4);
+        assertThat(StreakService.effectiveCurrent(friday, FrequencyType.WEEKDAYS, MONDAY.plusDays(1))).isZero();
+        assertThat(StreakService.effectiveCurrent(friday, FrequencyType.DAILY, MONDAY)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should skip weekends when finding the previous expected WEEKDAYS day")
+    void previousExpectedWeekdays() {
+        assertThat(StreakService.previousExpected(FrequencyType.WEEKDAYS, MONDAY)).isEqualTo(FRIDAY);
+        assertThat(StreakService.previousExpected(FrequencyType.WEEKDAYS, MONDAY.minusDays(1))).isEqualTo(FRIDAY);
+        assertThat(StreakService.previousExpected(FrequencyType.WEEKDAYS, MONDAY.plusDays(1))).isEqualTo(MONDAY);
+        assertThat(StreakService.previousExpected(FrequencyType.DAILY, MONDAY)).isEqualTo(MONDAY.minusDays(1));
+    }
+
+    @Test
+    @DisplayName("Should take an overturned PASS back out of the run")
+    void passOverturnedByFail() {
+        GoalStreak streak = streak(3, 7, MONDAY);
+        locked(streak);
+
+        service.onVerdict(goal(FrequencyType.WEEKDAYS), MONDAY, AuditStatus.VERIFIED, AuditStatus.REJECTED);
+
+        assertThat(streak.getCurrentStreak()).isEqualTo(2);
+        assertThat(streak.getLongestStreak()).isEqualTo(7);
+        assertThat(streak.getLastVerifiedDate()).isEqualTo(FRIDAY);
+        assertThat(streak.getUpdatedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should clear the last verified day when the overturned PASS was the whole run")
+    void singleDayPassOverturned() {
+        GoalStreak streak = streak(1, 1, MONDAY);
+        locked(streak);
+
+        service.onVerdict(goal(FrequencyType.DAILY), MONDAY, AuditStatus.VERIFIED, AuditStatus.REJECTED);
+
+        assertThat(streak.getCurrentStreak()).isZero();
+        assertThat(streak.getLongestStreak()).isEqualTo(1);
+        assertThat(streak.getLastVerifiedDate()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should leave the run alone when an older day's PASS is overturned")
+    void olderPassOverturned() {
+        GoalStreak streak = streak(3, 3, MONDAY);
+        locked(streak);
+
+        service.onVerdict(goal(FrequencyType.DAILY), MONDAY.minusDays(1), AuditStatus.VERIFIED, AuditStatus.REJECTED);
+
+        assertThat(streak.getCurrentStreak()).isEqualTo(3);
+        assertThat(streak.getLastVerifiedDate()).isEqualTo(MONDAY);
+        assertThat(streak.getUpdatedAt()).isNull();
+    }
+
+    private void locked(GoalStreak streak) {
+        when(goalStreakRepository.lockById(any())).thenReturn(Optional.of(streak));
+    }
+
+    private static Goal goal(FrequencyType frequency) {
+        Goal goal = new Goal();
+        goal.setId(UUID.randomUUID());
+        goal.setFrequencyType(frequency);
+        return goal;
+    }
+
+    private static GoalStreak streak(int current, int longest, LocalDate lastVerified) {
+        GoalStreak streak = new GoalStreak();
+        streak.setCurrentStreak(current);
+        streak.setLongestStreak(longest);
+        streak.setLastVerifiedDate(lastVerified);
+        return streak;
+    }
+}